@@ -0,0 +1,67 @@
+#!/bin/bash
+
+# Compares the default and virtual-thread modes under many concurrent slow AI calls.
+# Each AI reply is delayed by LATENCY_MS and Tomcat is capped at TOMCAT_THREADS, so in the
+# default mode the AI requests pin every request thread and unrelated page loads queue behind them.
+#
+# Usage: ./bench-virtual-threads.sh [concurrent-ai-calls] [latency-ms]
+
+CONCURRENCY=${1:-200}
+LATENCY_MS=${2:-500}
+TOMCAT_THREADS=${TOMCAT_THREADS:-50}
+PORT=${PORT:-8097}
+JAR=target/community-prototype-0.0.1-SNAPSHOT.jar
+BASE=http://localhost:$PORT
+WORK=$(mktemp -d)
+
+if [ ! -f "$JAR" ]; then
+    echo "📦 Building application..."
+    mvn -B -q package -DskipTests || exit 1
+fi
+
+run_mode() {
+    local enabled=$1
+    java -jar "$JAR" --server.port=$PORT \
+        --server.tomcat.threads.max=$TOMCAT_THREADS \
+        --ai.assistant.simulated-latency-ms=$LATENCY_MS \
+        --app.virtual-threads.enabled=$enabled \
+        --post.counters.snapshot-file=$WORK/counters.properties \
+        --engagement.store.dir=$WORK/engagement > "$WORK/app-$enabled.log" 2>&1 &
+    local pid=$!
+    for i in $(seq 1 60); do curl -s -o /dev/null $BASE/login && break; sleep 0.5; done
+
+    local cookies=$WORK/cookies
+    rm -f "$cookies"
+    curl -s -c "$cookies" -b "$cookies" -o /dev/null -d "username=oliver&password=oliver" $BASE/login
+
+    local start=$(date +%s.%N)
+    seq 1 $CONCURRENCY | xargs -P $CONCURRENCY -I{} curl -s -o /dev/null -w "%{http_code} %{time_total}\n" \
+        -b "$cookies" -H "Content-Type: application/json" \
+        -d '{"message":"Suggest a weekend activity","history":[]}' $BASE/ai-assistant/chat > "$WORK/ai.txt" &
+    local load=$!
+
+    # Page loads issued while the AI calls are in flight
+    sleep 0.2
+    : > "$WORK/pages.txt"
+    for i in $(seq 1 10); do
+        curl -s -o /dev/null -w "%{time_total}\n" $BASE/login >> "$WORK/pages.txt"
+    done
+    wait $load
+    local end=$(date +%s.%N)
+
+    kill $pid; wait $pid 2>/dev/null
+
+    local mode=$(grep -o "Blocking I/O mode: .*" "$WORK/app-$enabled.log" | cut -d' ' -f4)
+    echo "app.virtual-threads.enabled=$enabled (${mode:-inline})"
+    awk -v c=$CONCURRENCY -v s=$start -v e=$end '
+        $1 == 200 { ok++ }
+        { t += $2; if ($2 > max) max = $2 }
+        END { printf "  AI calls: %d/%d ok, %.1f req/s, mean %.2fs, max %.2fs\n", ok, c, c / (e - s), t / NR, max }' "$WORK/ai.txt"
+    awk '{ t += $1; if ($1 > max) max = $1 }
+        END { printf "  /login during load: mean %.3fs, max %.3fs\n", t / NR, max }' "$WORK/pages.txt"
+}
+
+echo "🏁 $CONCURRENCY concurrent AI calls, ${LATENCY_MS}ms each, $TOMCAT_THREADS Tomcat threads"
+run_mode false
+run_mode true
+rm -rf "$WORK"
@@ -0,0 +1,124 @@
+#!/usr/bin/env node
+
+// Build-time static asset pipeline, run by the Maven "assets" profile (-Passets) after resources are copied:
+// minifies CSS and SVG in place, then writes .gz and .br variants next to each file.
+// Content-hashed URLs are resolved at runtime by Spring's resource chain (StaticAssetConfig),
+// which also serves the precompressed variants to clients that accept them.
+//
+// Usage: node scripts/build-assets.js <static-dir>
+
+const fs = require('fs');
+const path = require('path');
+const zlib = require('zlib');
+
+const root = process.argv[2];
+if (!root || !fs.existsSync(root)) {
+    console.error('build-assets: static directory not found: ' + root);
+    process.exit(1);
+}
+
+const MINIFIERS = { '.css': minifyCss, '.svg': minifySvg };
+const COMPRESSIBLE = new Set(['.css', '.js', '.svg', '.json', '.txt', '.html']);
+
+let before = 0, after = 0, gzipped = 0, brotlied = 0;
+for (const file of walk(root)) {
+    const ext = path.extname(file);
+    if (!COMPRESSIBLE.has(ext)) {
+        continue;
+    }
+    let content = fs.readFileSync(file);
+    before += content.length;
+    if (MINIFIERS[ext]) {
+        content = Buffer.from(MINIFIERS[ext](content.toString('utf8')), 'utf8');
+        fs.writeFileSync(file, content);
+    }
+    after += content.length;
+
+    const gz = zlib.gzipSync(content, { level: 9 });
+    const br = zlib.brotliCompressSync(content, {
+        params: {
+            [zlib.constants.BROTLI_PARAM_QUALITY]: 11,
+            [zlib.constants.BROTLI_PARAM_SIZE_HINT]: content.length
+        }
+    });
+    // Only keep variants that actually save bytes
+    if (gz.length < content.length) {
+        fs.writeFileSync(file + '.gz', gz);
+        gzipped += gz.length;
+    }
+    if (br.length < content.length) {
+        fs.writeFileSync(file + '.br', br);
+        brotlied += br.length;
+    }
+}
+console.log(`build-assets: ${before} -> ${after} bytes minified, ${gzipped} gzip, ${brotlied} brotli`);
+
+function* walk(dir) {
+    for (const entry of fs.readdirSync(dir, { withFileTypes: true })) {
+        const full = path.join(dir, entry.name);
+        if (entry.isDirectory()) {
+            yield* walk(full);
+        } else if (!entry.name.endsWith('.gz') && !entry.name.endsWith('.br')) {
+            yield full;
+        }
+    }
+}
+
+/**
+ * Conservative CSS minifier: drops comments and collapses whitespace outside strings,
+ * and trims it around punctuation where it never carries meaning.
+ * Spaces inside values (calc(), shorthand) and selectors are kept as single spaces.
+ */
+function minifyCss(css) {
+    let out = '';
+    let i = 0;
+    while (i < css.length) {
+        const c = css[i];
+        if (c === '"' || c === "'") {
+            let j = i + 1;
+            while (j < css.length && css[j] !== c) {
+                j += css[j] === '\\' ? 2 : 1;
+            }
+            out += css.slice(i, j + 1);
+            i = j + 1;
+            continue;
+        }
+        if (/\s/.test(c) || (c === '/' && css[i + 1] === '*')) {
+            // A run of whitespace and comments separates tokens like a single space
+            i = skipBlank(css, i);
+            const prev = out[out.length - 1];
+            const next = css[i];
+            if (out.length > 0 && i < css.length && !'{};,:'.includes(prev) && !'{};,!'.includes(next)) {
+                out += ' ';
+            }
+            continue;
+        }
+        if (c === '}' && out[out.length - 1] === ';') {
+            out = out.slice(0, -1);
+        }
+        out += c;
+        i++;
+    }
+    return out.trim();
+}
+
+function skipBlank(css, i) {
+    while (i < css.length) {
+        if (/\s/.test(css[i])) {
+            i++;
+        } else if (css[i] === '/' && css[i + 1] === '*') {
+            const end = css.indexOf('*/', i + 2);
+            i = end < 0 ? css.length : end + 2;
+        } else {
+            break;
+        }
+    }
+    return i;
+}
+
+/**
+ * SVG: drop comments and whitespace between tags
+ */
+function minifySvg(svg) {
+    return svg.replace(/<!--[\s\S]*?-->/g, '').replace(/>\s+</g, '><').trim();
+}
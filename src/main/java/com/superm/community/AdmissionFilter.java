@@ -0,0 +1,117 @@
+package com.superm.community;
+
+import com.superm.community.service.AdmissionControl;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Applies {@link AdmissionControl} before anything else runs, so an over-limit request costs
+ * no session decode or controller work: 429 when the route's rate is exceeded, 503 when its
+ * concurrency limit is full. Async requests (AI calls, streams) hold their slot until they complete.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class AdmissionFilter extends OncePerRequestFilter {
+	private final AdmissionControl admission;
+
+	public AdmissionFilter(AdmissionControl admission) {
+		this.admission = admission;
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !admission.isEnabled();
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		AdmissionControl.Route route = admission.match(request.getRequestURI().substring(request.getContextPath().length()));
+		if (route == null) {
+			chain.doFilter(request, response);
+			return;
+		}
+
+		AdmissionControl.Decision decision = route.tryAdmit();
+		if (decision != AdmissionControl.Decision.ADMITTED) {
+			reject(request, response, route, decision);
+			return;
+		}
+
+		long start = System.nanoTime();
+		boolean async = false;
+		try {
+			chain.doFilter(request, response);
+			if (request.isAsyncStarted()) {
+				request.getAsyncContext().addListener(new ReleaseOnComplete(route, start));
+				async = true;
+			}
+		} finally {
+			if (!async) {
+				route.release(System.nanoTime() - start);
+			}
+		}
+	}
+
+	private static void reject(HttpServletRequest request, HttpServletResponse response,
+			AdmissionControl.Route route, AdmissionControl.Decision decision) throws IOException {
+		boolean rateLimited = decision == AdmissionControl.Decision.RATE_LIMITED;
+		response.setStatus(rateLimited ? 429 : HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+		response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(rateLimited ? route.retryAfterSeconds() : 1));
+		response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+		String message = "We're handling a lot of requests right now. Please try again in a moment.";
+
+		// The AI assistant page shows this message in the chat instead of an error page
+		String accept = request.getHeader(HttpHeaders.ACCEPT);
+		String contentType = request.getContentType();
+		if ((accept != null && accept.contains(MediaType.APPLICATION_JSON_VALUE))
+				|| (contentType != null && contentType.startsWith(MediaType.APPLICATION_JSON_VALUE))) {
+			response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+			response.getWriter().write("{\"success\":false,\"busy\":true,\"error\":\"" + message + "\"}");
+		} else {
+			response.setContentType(MediaType.TEXT_HTML_VALUE + ";charset=UTF-8");
+			response.getWriter().write("<!DOCTYPE html><html><head><title>Busy</title></head><body><p>"
+				+ message + "</p></body></html>");
+		}
+	}
+
+	private static final class ReleaseOnComplete implements AsyncListener {
+		private final AdmissionControl.Route route;
+		private final long start;
+
+		ReleaseOnComplete(AdmissionControl.Route route, long start) {
+			this.route = route;
+			this.start = start;
+		}
+
+		// Fires after timeouts and errors too, so it is the one place to release
+		@Override
+		public void onComplete(AsyncEvent event) {
+			route.release(System.nanoTime() - start);
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) {
+		}
+
+		@Override
+		public void onError(AsyncEvent event) {
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) {
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package com.superm.community;
+
+import com.superm.community.service.FragmentCache;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.context.ITemplateContext;
+import org.thymeleaf.dialect.AbstractProcessorDialect;
+import org.thymeleaf.engine.TemplateManager;
+import org.thymeleaf.engine.TemplateModel;
+import org.thymeleaf.exceptions.TemplateProcessingException;
+import org.thymeleaf.model.IModel;
+import org.thymeleaf.model.IModelFactory;
+import org.thymeleaf.model.IProcessableElementTag;
+import org.thymeleaf.processor.IProcessor;
+import org.thymeleaf.processor.element.AbstractElementModelProcessor;
+import org.thymeleaf.processor.element.IElementModelStructureHandler;
+import org.thymeleaf.standard.expression.StandardExpressions;
+import org.thymeleaf.templatemode.TemplateMode;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Set;
+
+/**
+ * Fragment caching for templates:
+ * <pre>
+ *   &lt;div cache:key="${'post:' + p.id}" cache:version="${p.likes + ':' + p.comments}"&gt;...&lt;/div&gt;
+ * </pre>
+ * The first time a key is seen at a version the element is rendered as usual (including any
+ * other th: attributes on it) and the output is stored in {@link FragmentCache}; afterwards the
+ * stored markup is written out without evaluating anything inside the element.
+ * The version must change whenever the data rendered inside does.
+ */
+@Component
+public class FragmentCacheDialect extends AbstractProcessorDialect {
+	private static final String PREFIX = "cache";
+
+	private final FragmentCache fragmentCache;
+
+	public FragmentCacheDialect(FragmentCache fragmentCache) {
+		super("Fragment Cache", PREFIX, 1000);
+		this.fragmentCache = fragmentCache;
+	}
+
+	@Override
+	public Set<IProcessor> getProcessors(String dialectPrefix) {
+		return Set.of(new CachedElementProcessor(dialectPrefix, fragmentCache));
+	}
+
+	private static final class CachedElementProcessor extends AbstractElementModelProcessor {
+		// Ahead of every standard attribute, so the cached output covers th:each/th:if on the same element
+		private static final int PRECEDENCE = 10;
+
+		private final FragmentCache fragmentCache;
+
+		CachedElementProcessor(String dialectPrefix, FragmentCache fragmentCache) {
+			super(TemplateMode.HTML, dialectPrefix, null, false, "key", true, PRECEDENCE);
+			this.fragmentCache = fragmentCache;
+		}
+
+		@Override
+		protected void doProcess(ITemplateContext context, IModel model, IElementModelStructureHandler structureHandler) {
+			IModelFactory factory = context.getModelFactory();
+			IProcessableElementTag tag = (IProcessableElementTag) model.get(0);
+			String key = evaluate(context, tag.getAttributeValue(getDialectPrefix(), "key"));
+			String version = evaluate(context, tag.getAttributeValue(getDialectPrefix(), "version"));
+
+			String html = fragmentCache.get(key, version);
+			if (html == null) {
+				IProcessableElementTag bare = factory.removeAttribute(
+					factory.removeAttribute(tag, getDialectPrefix(), "key"), getDialectPrefix(), "version");
+				model.replace(0, bare);
+				html = render(context, model, tag);
+				fragmentCache.put(key, version, html);
+			}
+			model.reset();
+			model.add(factory.createText(html));
+		}
+
+		// Renders the element's own markup in the current context, so iteration variables resolve
+		private static String render(ITemplateContext context, IModel model, IProcessableElementTag tag) {
+			StringWriter markup = new StringWriter();
+			StringWriter output = new StringWriter();
+			try {
+				model.write(markup);
+			} catch (IOException e) {
+				throw new TemplateProcessingException("Could not serialize cached fragment", e);
+			}
+			TemplateManager templateManager = context.getConfiguration().getTemplateManager();
+			TemplateModel fragment = templateManager.parseString(context.getTemplateData(), markup.toString(),
+				tag.getLine(), tag.getCol(), context.getTemplateMode(), false);
+			templateManager.process(fragment, context, output);
+			return output.toString();
+		}
+
+		private static String evaluate(ITemplateContext context, String expression) {
+			if (expression == null || expression.isBlank()) {
+				return "";
+			}
+			Object value = StandardExpressions.getExpressionParser(context.getConfiguration())
+				.parseExpression(context, expression).execute(context);
+			return String.valueOf(value);
+		}
+	}
+}
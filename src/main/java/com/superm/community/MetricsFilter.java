@@ -0,0 +1,97 @@
+package com.superm.community;
+
+import com.superm.community.service.MetricsRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Times every request under its handler mapping pattern ("GET /community/{id}"), so the
+ * metrics page has one row per route rather than per URL. Requests no handler matched
+ * (404s, requests shed by AdmissionFilter) are grouped under "(unmapped)".
+ * Async requests are timed until they complete.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+public class MetricsFilter extends OncePerRequestFilter {
+	private static final String UNMAPPED = "(unmapped)";
+
+	private final MetricsRegistry metrics;
+
+	public MetricsFilter(MetricsRegistry metrics) {
+		this.metrics = metrics;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		long start = System.nanoTime();
+		boolean async = false;
+		boolean failed = true; // an exception escaping the chain becomes a 500 after this filter
+		try {
+			chain.doFilter(request, response);
+			if (request.isAsyncStarted()) {
+				// Read the pattern now: an error dispatch during the async phase replaces it with /error
+				MetricsRegistry.Timer timer = timerFor(request);
+				request.getAsyncContext().addListener(new RecordOnComplete(timer, response, start));
+				async = true;
+			}
+			failed = false;
+		} finally {
+			if (!async) {
+				record(timerFor(request), failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus(), start);
+			}
+		}
+	}
+
+	private MetricsRegistry.Timer timerFor(HttpServletRequest request) {
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		return metrics.routeTimer(request.getMethod(), pattern != null ? pattern.toString() : UNMAPPED);
+	}
+
+	private static void record(MetricsRegistry.Timer timer, int status, long start) {
+		timer.recordSince(start);
+		if (status >= 500) {
+			timer.recordError();
+		}
+	}
+
+	private static final class RecordOnComplete implements AsyncListener {
+		private final MetricsRegistry.Timer timer;
+		private final HttpServletResponse response;
+		private final long start;
+
+		RecordOnComplete(MetricsRegistry.Timer timer, HttpServletResponse response, long start) {
+			this.timer = timer;
+			this.response = response;
+			this.start = start;
+		}
+
+		@Override
+		public void onComplete(AsyncEvent event) {
+			record(timer, response.getStatus(), start);
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) {
+		}
+
+		@Override
+		public void onError(AsyncEvent event) {
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) {
+		}
+	}
+}
@@ -0,0 +1,211 @@
+package com.superm.community;
+
+import com.superm.community.service.SessionRecord;
+import com.superm.community.service.SessionStore;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.security.SecureRandom;
+import java.util.Collections;
+
+/**
+ * Serves HttpSession from the configured {@link SessionStore} instead of the container's
+ * memory, so controllers keep using HttpSession unchanged while sessions survive restarts and
+ * need no sticky routing. The session is loaded on first use and saved, with a fresh cookie,
+ * only when an attribute changed or the last-access time is older than the touch interval.
+ * The cookie is written before the response commits (redirects included).
+ */
+@Component
+public class SessionStoreFilter extends OncePerRequestFilter {
+	public static final String COOKIE_NAME = "SUPERM_SESSION";
+	private static final SecureRandom RANDOM = new SecureRandom();
+
+	private final SessionStore store;
+	private final long touchIntervalMs;
+
+	public SessionStoreFilter(ObjectProvider<SessionStore> store,
+			@Value("${app.session.touch-interval-ms:60000}") long touchIntervalMs) {
+		this.store = store.getIfAvailable();
+		this.touchIntervalMs = touchIntervalMs;
+	}
+
+	// app.session.store=servlet: no store bean, the container session is used as before
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return store == null;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		SessionRequest sessionRequest = new SessionRequest(request, response);
+		try {
+			chain.doFilter(sessionRequest, sessionRequest.response);
+		} finally {
+			sessionRequest.commitSession();
+		}
+	}
+
+	private final class SessionRequest extends HttpServletRequestWrapper {
+		private final HttpServletResponse originalResponse;
+		private final SessionResponse response;
+		private final String requestedToken;
+		private boolean loaded;
+		private boolean committed;
+		private StoredSession session;
+
+		SessionRequest(HttpServletRequest request, HttpServletResponse response) {
+			super(request);
+			this.originalResponse = response;
+			this.response = new SessionResponse(response, this);
+			this.requestedToken = readCookie(request);
+		}
+
+		@Override
+		public HttpSession getSession() {
+			return getSession(true);
+		}
+
+		@Override
+		public HttpSession getSession(boolean create) {
+			if (session != null && !session.isInvalidated()) {
+				return session;
+			}
+			if (!loaded) {
+				loaded = true;
+				SessionRecord record = requestedToken == null ? null : store.load(requestedToken);
+				if (record != null) {
+					session = new StoredSession(record, getServletContext(), maxInactiveSeconds(), false);
+					return session;
+				}
+			}
+			if (!create) {
+				return null;
+			}
+			if (session != null) {
+				// Invalidated earlier in this request; the replacement gets a new id
+				store.delete(requestedToken);
+			}
+			long now = System.currentTimeMillis();
+			session = new StoredSession(new SessionRecord(RANDOM.nextLong(), now, now, Collections.emptyMap()),
+				getServletContext(), maxInactiveSeconds(), true);
+			return session;
+		}
+
+		void commitSession() {
+			if (committed || session == null) {
+				return;
+			}
+			committed = true;
+			if (session.isInvalidated()) {
+				store.delete(requestedToken);
+				writeCookie("", 0);
+				return;
+			}
+			SessionRecord record = session.getRecord();
+			if (session.isNew() && record.getAttributes().isEmpty()) {
+				return; // nothing worth a cookie
+			}
+			long now = System.currentTimeMillis();
+			boolean touch = now - record.getLastAccessMillis() >= touchIntervalMs;
+			if (session.isDirty() || touch) {
+				record.setLastAccessMillis(now);
+				writeCookie(store.save(record), -1);
+			}
+		}
+
+		private void writeCookie(String value, long maxAgeSeconds) {
+			if (originalResponse.isCommitted()) {
+				System.err.println("Session changed after the response was committed: " + getRequestURI());
+				return;
+			}
+			ResponseCookie cookie = ResponseCookie.from(COOKIE_NAME, value)
+				.path("/")
+				.httpOnly(true)
+				.secure(isSecure())
+				.sameSite("Lax")
+				.maxAge(maxAgeSeconds)
+				.build();
+			originalResponse.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+		}
+
+		private int maxInactiveSeconds() {
+			return (int) (store.getIdleTimeoutMillis() / 1000);
+		}
+	}
+
+	private static String readCookie(HttpServletRequest request) {
+		Cookie[] cookies = request.getCookies();
+		if (cookies != null) {
+			for (Cookie cookie : cookies) {
+				if (COOKIE_NAME.equals(cookie.getName()) && !cookie.getValue().isEmpty()) {
+					return cookie.getValue();
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Saves the session on the way into anything that commits the response
+	 */
+	private static final class SessionResponse extends HttpServletResponseWrapper {
+		private final SessionRequest request;
+
+		SessionResponse(HttpServletResponse response, SessionRequest request) {
+			super(response);
+			this.request = request;
+		}
+
+		@Override
+		public void sendRedirect(String location) throws IOException {
+			request.commitSession();
+			super.sendRedirect(location);
+		}
+
+		@Override
+		public void sendError(int sc) throws IOException {
+			request.commitSession();
+			super.sendError(sc);
+		}
+
+		@Override
+		public void sendError(int sc, String msg) throws IOException {
+			request.commitSession();
+			super.sendError(sc, msg);
+		}
+
+		@Override
+		public ServletOutputStream getOutputStream() throws IOException {
+			request.commitSession();
+			return super.getOutputStream();
+		}
+
+		@Override
+		public PrintWriter getWriter() throws IOException {
+			request.commitSession();
+			return super.getWriter();
+		}
+
+		@Override
+		public void flushBuffer() throws IOException {
+			request.commitSession();
+			super.flushBuffer();
+		}
+	}
+}
@@ -0,0 +1,42 @@
+package com.superm.community;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fingerprinted, precompressed static assets.
+ * Links written with @{...} in templates are rewritten to content-hashed names
+ * (/css/styles-&lt;md5&gt;.css), so the files can be cached as immutable for a year; a changed
+ * file gets a new name. The .br/.gz variants produced by scripts/build-assets.js in -Passets builds
+ * are served to clients that accept them.
+ */
+@Configuration
+public class StaticAssetConfig implements WebMvcConfigurer {
+	private static final long MAX_AGE_DAYS = 365;
+
+	@Override
+	public void addResourceHandlers(ResourceHandlerRegistry registry) {
+		for (String dir : new String[] {"css", "img"}) {
+			registry.addResourceHandler("/" + dir + "/**")
+				.addResourceLocations("classpath:/static/" + dir + "/")
+				.setCacheControl(CacheControl.maxAge(MAX_AGE_DAYS, TimeUnit.DAYS).cachePublic().immutable())
+				.resourceChain(true)
+				.addResolver(new EncodedResourceResolver())
+				.addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+		}
+	}
+
+	// Lets Thymeleaf's @{...} resolve the hashed names
+	@Bean
+	public ResourceUrlEncodingFilter resourceUrlEncodingFilter() {
+		return new ResourceUrlEncodingFilter();
+	}
+}
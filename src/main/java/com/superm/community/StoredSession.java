@@ -0,0 +1,116 @@
+package com.superm.community;
+
+import com.superm.community.service.SessionRecord;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpSession;
+
+import java.util.Collections;
+import java.util.Enumeration;
+
+/**
+ * HttpSession view of a {@link SessionRecord} for one request; SessionStoreFilter saves it
+ * back if it was changed.
+ */
+final class StoredSession implements HttpSession {
+	private final SessionRecord record;
+	private final ServletContext servletContext;
+	private final int maxInactiveSeconds;
+	private final boolean isNew;
+	private boolean dirty;
+	private boolean invalidated;
+
+	StoredSession(SessionRecord record, ServletContext servletContext, int maxInactiveSeconds, boolean isNew) {
+		this.record = record;
+		this.servletContext = servletContext;
+		this.maxInactiveSeconds = maxInactiveSeconds;
+		this.isNew = isNew;
+	}
+
+	SessionRecord getRecord() { return record; }
+	boolean isDirty() { return dirty; }
+	boolean isInvalidated() { return invalidated; }
+
+	@Override
+	public long getCreationTime() {
+		checkValid();
+		return record.getCreatedMillis();
+	}
+
+	@Override
+	public String getId() {
+		return Long.toHexString(record.getId());
+	}
+
+	@Override
+	public long getLastAccessedTime() {
+		checkValid();
+		return record.getLastAccessMillis();
+	}
+
+	@Override
+	public ServletContext getServletContext() {
+		return servletContext;
+	}
+
+	// The idle timeout is store-wide (app.session.idle-timeout-ms)
+	@Override
+	public void setMaxInactiveInterval(int interval) {
+	}
+
+	@Override
+	public int getMaxInactiveInterval() {
+		return maxInactiveSeconds;
+	}
+
+	@Override
+	public Object getAttribute(String name) {
+		checkValid();
+		return record.getAttributes().get(name);
+	}
+
+	@Override
+	public Enumeration<String> getAttributeNames() {
+		checkValid();
+		return Collections.enumeration(record.getAttributes().keySet());
+	}
+
+	@Override
+	public void setAttribute(String name, Object value) {
+		checkValid();
+		if (value == null) {
+			removeAttribute(name);
+			return;
+		}
+		if (!(value instanceof String) && !(value instanceof String[])) {
+			throw new IllegalArgumentException("Session attributes must be String or String[]: " + name);
+		}
+		record.getAttributes().put(name, value);
+		dirty = true;
+	}
+
+	@Override
+	public void removeAttribute(String name) {
+		checkValid();
+		if (record.getAttributes().remove(name) != null) {
+			dirty = true;
+		}
+	}
+
+	@Override
+	public void invalidate() {
+		checkValid();
+		invalidated = true;
+	}
+
+	@Override
+	public boolean isNew() {
+		checkValid();
+		return isNew;
+	}
+
+	private void checkValid() {
+		if (invalidated) {
+			throw new IllegalStateException("Session already invalidated");
+		}
+	}
+}
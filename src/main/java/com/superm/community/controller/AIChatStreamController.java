@@ -0,0 +1,97 @@
+package com.superm.community.controller;
+
+import com.superm.community.service.AIAssistantService;
+import com.superm.community.service.AIReplyStream;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+/**
+ * The AI assistant's streaming reply endpoint. It has a controller of its own so that
+ * the handler for writes to a disconnected client applies to this stream only.
+ */
+@Controller
+public class AIChatStreamController {
+	private static final long AI_STREAM_TIMEOUT_MS = 120_000L;
+	private static final String AI_STREAM_ERROR = "I'm having trouble connecting right now. Please try again in a moment.";
+
+	private final AIAssistantService aiService;
+
+	public AIChatStreamController(AIAssistantService aiService) {
+		this.aiService = aiService;
+	}
+
+	/**
+	 * Streams the assistant's reply as server-sent events: "token" events carrying {"text": ...}
+	 * as the reply is produced, then "done" (or "error"). The request thread returns at once;
+	 * when the client disconnects the next write fails and the upstream call is cancelled.
+	 */
+	@PostMapping(value = "/ai-assistant/chat/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public ResponseEntity<SseEmitter> aiChatStream(@RequestBody Map<String, Object> request, HttpSession session) {
+		String userName = (String) session.getAttribute("userName");
+		if (userName == null) {
+			return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+		}
+		
+		ChatRequest chat;
+		try {
+			chat = ChatRequest.parse(request);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().build();
+		}
+		
+		SseEmitter emitter = new SseEmitter(AI_STREAM_TIMEOUT_MS);
+		AIReplyStream reply = aiService.streamAIResponse(chat.getMessage(), userName, chat.getHistory(), new AIReplyStream.Listener() {
+			@Override
+			public void onToken(String token) {
+				try {
+					emitter.send(SseEmitter.event().name("token").data(Map.of("text", token)));
+				} catch (IOException e) {
+					// Client is gone; the caller cancels the stream
+					throw new UncheckedIOException(e);
+				}
+			}
+
+			@Override
+			public void onComplete() {
+				try {
+					emitter.send(SseEmitter.event().name("done").data(Map.of("canShare", true)));
+					emitter.complete();
+				} catch (IOException e) {
+					// Client is gone, nothing left to send
+				}
+			}
+
+			@Override
+			public void onError(Throwable error) {
+				// Upstream details stay in the server log
+				System.err.println("AI chat stream failed: " + error);
+				try {
+					emitter.send(SseEmitter.event().name("error").data(Map.of("error", AI_STREAM_ERROR)));
+					emitter.complete();
+				} catch (IOException e) {
+					// Client is gone, nothing left to send
+				}
+			}
+		});
+		emitter.onCompletion(reply::cancel);
+		emitter.onTimeout(reply::cancel);
+		emitter.onError(error -> reply.cancel());
+		return ResponseEntity.ok(emitter);
+	}
+
+	// A client that closed the stream mid-reply; the reply has been cancelled and there is no one to answer
+	@ExceptionHandler(IOException.class)
+	public void clientDisconnected() {
+	}
+}
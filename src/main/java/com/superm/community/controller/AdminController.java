@@ -1,26 +1,59 @@
 package com.superm.community.controller;
 
+import com.superm.community.model.ActivityPlan;
+import com.superm.community.model.GeneratedContent;
 import com.superm.community.service.StaticDataService;
 import com.superm.community.service.ActivityPlannerService;
+import com.superm.community.service.AdmissionControl;
+import com.superm.community.service.BlockingIoExecutor;
+import com.superm.community.service.FragmentCache;
+import com.superm.community.service.MetricsExporter;
+import com.superm.community.service.MetricsRegistry;
 import com.superm.community.service.OpenAIService;
+import com.superm.community.service.PayoutEngine;
+import com.superm.community.service.RankingExperimentService;
+import com.superm.community.service.VersionCounter;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 public class AdminController {
+	private static final int PAYOUT_LINES_SHOWN = 200;
+
 	private final StaticDataService data;
 	private final ActivityPlannerService activityPlannerService;
 	private final OpenAIService openAIService;
+	private final RankingExperimentService rankingExperiments;
+	private final BlockingIoExecutor blockingIo;
+	private final MetricsRegistry metrics;
+	private final MetricsExporter metricsExporter;
+	private final AdmissionControl admission;
+	private final FragmentCache fragmentCache;
+	private final PayoutEngine payoutEngine;
 
-	public AdminController(StaticDataService data, ActivityPlannerService activityPlannerService, OpenAIService openAIService) {
+	public AdminController(StaticDataService data, ActivityPlannerService activityPlannerService, OpenAIService openAIService,
+			RankingExperimentService rankingExperiments, BlockingIoExecutor blockingIo, MetricsRegistry metrics,
+			MetricsExporter metricsExporter, AdmissionControl admission, FragmentCache fragmentCache,
+			PayoutEngine payoutEngine) {
 		this.data = data;
 		this.activityPlannerService = activityPlannerService;
 		this.openAIService = openAIService;
+		this.rankingExperiments = rankingExperiments;
+		this.blockingIo = blockingIo;
+		this.metrics = metrics;
+		this.metricsExporter = metricsExporter;
+		this.admission = admission;
+		this.fragmentCache = fragmentCache;
+		this.payoutEngine = payoutEngine;
 	}
 
 	@GetMapping("/admin")
@@ -60,8 +93,32 @@ public class AdminController {
 		return "redirect:/admin/users";
 	}
 
+	// Suspend or activate many users in one request, e.g. a whole spam wave
+	@PostMapping("/admin/users/bulk")
+	public String bulkUserStatus(@RequestParam(value = "ids", required = false) List<String> ids,
+			@RequestParam("action") String action) {
+		String status;
+		switch (action) {
+			case "suspend":
+				status = "Suspended";
+				break;
+			case "activate":
+				status = "Active";
+				break;
+			default:
+				return "redirect:/admin/users";
+		}
+		data.setUserStatus(parseIds(ids), status);
+		return "redirect:/admin/users";
+	}
+
 	@GetMapping("/admin/communities")
-	public String communities(Model model) {
+	public String communities(Model model, WebRequest request, HttpServletResponse response) {
+		VersionCounter version = data.getCatalogVersion();
+		response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+		if (request.checkNotModified(version.etag("admin-communities"), version.getLastModifiedMillis())) {
+			return null;
+		}
 		model.addAttribute("communities", data.getAllCommunities());
 		return "admin-communities";
 	}
@@ -85,6 +142,12 @@ public class AdminController {
 		return "redirect:/admin/communities";
 	}
 
+	@PostMapping("/admin/communities/bulk-archive")
+	public String bulkArchiveCommunities(@RequestParam(value = "ids", required = false) List<String> ids) {
+		data.archiveCommunities(parseIds(ids));
+		return "redirect:/admin/communities";
+	}
+
 	@GetMapping("/admin/leaders")
 public String leaders(Model model) {
     var leaders = data.getAllUsers().stream().filter(u -> u.isLeader()).toList();
@@ -107,6 +170,7 @@ public String leaders(Model model) {
     model.addAttribute("leaders", leaders);
     model.addAttribute("assigned", assigned);
     model.addAttribute("performance", performance);
+    model.addAttribute("payoutRunId", newPayoutRunId());
     return "admin-leaders";
 }
 
@@ -114,53 +178,44 @@ public String leaders(Model model) {
 public String processPayouts(@RequestParam("dollars") int dollars,
         @RequestParam("tokens") int tokens,
         @RequestParam(value = "selectedLeaders", required = false) String selectedLeadersStr,
-        Model model) {
+        @RequestParam(value = "runId", required = false) String runId,
+        Model model) throws java.io.IOException {
     
-    // Get all leaders for display
+    // Get all leaders for display; communities and post counts come from the maintained aggregates
     var allLeaders = data.getAllUsers().stream().filter(u -> u.isLeader()).toList();
     java.util.Map<String, String> assigned = new java.util.HashMap<>();
     java.util.Map<String, Integer> performance = new java.util.HashMap<>();
     
     for (var u : allLeaders) {
-        var led = data.getAllCommunities().stream().filter(c -> c.getLeaderName().equals(u.getName())).toList();
-        String names = led.stream().map(c -> c.getName()).reduce((a,b) -> a + ", " + b).orElse("");
-        assigned.put(u.getName(), names);
-        var ids = led.stream().map(c -> c.getId()).toList();
-        int posts = (int) data.getAllPosts().stream().filter(p -> ids.contains(p.getCommunityId())).count();
-        performance.put(u.getName(), posts);
+        var stats = data.getLeaderStats(u.getName());
+        assigned.put(u.getName(), stats.getCommunityNames());
+        performance.put(u.getName(), stats.getPostCount());
     }
     
     // Process payouts for selected leaders only
     java.util.List<String> processedRewards = new java.util.ArrayList<>();
     
     if (selectedLeadersStr != null && !selectedLeadersStr.trim().isEmpty()) {
-        String[] selectedLeaderIds = selectedLeadersStr.split(",");
-        int selectedCount = 0;
-        int totalDollars = 0;
-        int totalTokens = 0;
+        // The form's run id makes a resubmitted form a no-op instead of a second payout
+        String effectiveRunId = runId != null && !runId.isBlank() ? runId : newPayoutRunId();
+        var run = payoutEngine.run(effectiveRunId, java.util.Arrays.asList(selectedLeadersStr.split(",")), dollars, tokens);
         
-        for (String leaderIdStr : selectedLeaderIds) {
-            final String leaderId = leaderIdStr.trim();
-            if (!leaderId.isEmpty()) {
-                var leader = allLeaders.stream().filter(u -> u.getId().equals(leaderId)).findFirst().orElse(null);
-                if (leader != null) {
-                    selectedCount++;
-                    int leaderPosts = performance.getOrDefault(leader.getName(), 0);
-                    int leaderDollars = leaderPosts * dollars;
-                    int leaderTokens = leaderPosts * tokens;
-                    totalDollars += leaderDollars;
-                    totalTokens += leaderTokens;
-                    
-                    processedRewards.add("Processed payout for " + leader.getName() + 
-                        ": $" + leaderDollars + " + " + leaderTokens + " tokens (" + leaderPosts + " posts)");
-                }
-            }
+        var paid = run.getPaid();
+        for (int i = 0; i < paid.size() && i < PAYOUT_LINES_SHOWN; i++) {
+            var line = paid.get(i);
+            processedRewards.add("Processed payout for " + line.getLeaderName() + 
+                ": $" + line.getDollars() + " + " + line.getTokens() + " tokens (" + line.getPosts() + " posts)");
         }
-        
-        if (selectedCount > 0) {
-            processedRewards.add(0, "BULK PAYOUT: Processed $" + totalDollars + " and " + totalTokens + " tokens for " + selectedCount + " selected leaders.");
+        if (paid.size() > PAYOUT_LINES_SHOWN) {
+            processedRewards.add("... and " + (paid.size() - PAYOUT_LINES_SHOWN) + " more leaders (see the payout ledger)");
+        }
+        if (!paid.isEmpty()) {
+            processedRewards.add(0, "BULK PAYOUT: Processed $" + run.getTotalDollars() + " and " + run.getTotalTokens() + " tokens for " + paid.size() + " selected leaders.");
             data.processPayouts(dollars, tokens); // Add to reward log
         }
+        if (run.getAlreadyPaid() > 0) {
+            processedRewards.add("Skipped " + run.getAlreadyPaid() + " leaders already paid in this run.");
+        }
     } else {
         // Fallback to original behavior if no leaders selected
         processedRewards.addAll(data.processPayouts(dollars, tokens));
@@ -170,9 +225,29 @@ public String processPayouts(@RequestParam("dollars") int dollars,
     model.addAttribute("assigned", assigned);
     model.addAttribute("performance", performance);
     model.addAttribute("rewards", processedRewards);
+    model.addAttribute("payoutRunId", newPayoutRunId());
     return "admin-leaders";
 }
 
+	// Ids from checkboxes and/or a pasted list separated by commas, spaces or newlines
+	private static List<String> parseIds(List<String> values) {
+		List<String> ids = new java.util.ArrayList<>();
+		if (values != null) {
+			for (String value : values) {
+				for (String id : value.split("[,\\s]+")) {
+					if (!id.isEmpty()) {
+						ids.add(id);
+					}
+				}
+			}
+		}
+		return ids;
+	}
+
+	private static String newPayoutRunId() {
+		return java.util.UUID.randomUUID().toString();
+	}
+
 	@GetMapping("/admin/moderation")
 	public String moderation(Model model) {
 		model.addAttribute("reports", java.util.List.of("Reported post p2", "Reported comment by u3"));
@@ -185,6 +260,12 @@ public String processPayouts(@RequestParam("dollars") int dollars,
 		return "redirect:/admin/moderation";
 	}
 
+	@PostMapping("/admin/moderation/bulk-delete")
+	public String bulkDeleteContent(@RequestParam(value = "ids", required = false) List<String> ids) {
+		data.deleteContents(parseIds(ids));
+		return "redirect:/admin/moderation";
+	}
+
 	@PostMapping("/admin/moderation/warn")
 	public String warnUser(@RequestParam("userId") String userId) {
 		data.warnUser(userId);
@@ -210,6 +291,33 @@ public String processPayouts(@RequestParam("dollars") int dollars,
 		return "admin-analytics";
 	}
 
+	// Latency percentiles and throughput per route and key service method
+	@GetMapping("/admin/metrics")
+	public String metrics(Model model, HttpServletResponse response) {
+		model.addAttribute("routeTimers", metrics.getRouteTimers());
+		model.addAttribute("methodTimers", metrics.getMethodTimers());
+		model.addAttribute("admissionRoutes", admission.getRoutes());
+		model.addAttribute("fragmentCacheHits", fragmentCache.getHitCount());
+		model.addAttribute("fragmentCacheMisses", fragmentCache.getMissCount());
+		model.addAttribute("uptimeMinutes", (long) (metrics.getUptimeSeconds() / 60));
+		response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+		return "admin-metrics";
+	}
+
+	// Same numbers in Prometheus text format for scraping
+	@GetMapping(value = "/admin/metrics/prometheus", produces = "text/plain; version=0.0.4; charset=utf-8")
+	@ResponseBody
+	public String prometheusMetrics() {
+		return metricsExporter.prometheusText();
+	}
+
+	// Ranking experiment variants side by side: latency, traffic and engagement
+	@GetMapping("/admin/experiments")
+	@ResponseBody
+	public List<Map<String, Object>> rankingExperiments() {
+		return rankingExperiments.getVariantMetrics();
+	}
+
 	@GetMapping("/admin/content-generator")
 	public String contentGenerator(Model model) {
 		model.addAttribute("communities", data.getAllCommunities());
@@ -224,30 +332,31 @@ public String processPayouts(@RequestParam("dollars") int dollars,
 	}
 
 	@PostMapping("/admin/content-generator/generate")
-	public String generateContent(@RequestParam("contentType") String contentType,
+	public CompletableFuture<String> generateContent(@RequestParam("contentType") String contentType,
 								 @RequestParam("topic") String topic,
 								 @RequestParam("communityId") String communityId,
 								 @RequestParam(value = "aiTool", defaultValue = "chatgpt") String aiTool,
 								 Model model) {
 		
-		Map<String, Object> generatedContent;
+		CompletableFuture<GeneratedContent> generatedContent;
 		
 		// Use real ChatGPT API if configured and selected, otherwise fallback to mock data
 		if ("chatgpt".equalsIgnoreCase(aiTool) && openAIService.isApiConfigured()) {
-			generatedContent = openAIService.generateContent(contentType, topic, communityId, aiTool);
+			generatedContent = blockingIo.submit(() -> openAIService.generateContent(contentType, topic, communityId, aiTool));
 		} else {
 			// Fallback to mock data generation
-			generatedContent = data.generateContent(contentType, topic, communityId, aiTool);
+			generatedContent = CompletableFuture.completedFuture(data.generateContent(contentType, topic, communityId, aiTool));
 		}
 		
-		model.addAttribute("generatedContent", generatedContent);
-		model.addAttribute("communities", data.getAllCommunities());
-		model.addAttribute("socialPlatforms", data.getSocialMediaPlatforms());
-		model.addAttribute("contentTemplates", data.getContentTemplates());
-		model.addAttribute("recentContent", data.getRecentGeneratedContent());
-		model.addAttribute("openaiStatus", openAIService.getApiStatus());
-		
-		return "admin-content-generator";
+		return generatedContent.thenApply(content -> {
+			model.addAttribute("generatedContent", content);
+			model.addAttribute("communities", data.getAllCommunities());
+			model.addAttribute("socialPlatforms", data.getSocialMediaPlatforms());
+			model.addAttribute("contentTemplates", data.getContentTemplates());
+			model.addAttribute("recentContent", data.getRecentGeneratedContent());
+			model.addAttribute("openaiStatus", openAIService.getApiStatus());
+			return "admin-content-generator";
+		});
 	}
 
 	@PostMapping("/admin/content-generator/post")
@@ -284,13 +393,13 @@ public String processPayouts(@RequestParam("dollars") int dollars,
 	
 	// Activity Planner AI Agent endpoints
 	@GetMapping("/admin/activity-planner")
-	public String activityPlanner(Model model) {
-		Map<String, Object> serviceStatus = activityPlannerService.getServiceStatus();
-		Map<String, Object> documentation = activityPlannerService.getServiceDocumentation();
-		
-		model.addAttribute("serviceStatus", serviceStatus);
-		model.addAttribute("documentation", documentation);
-		return "admin-activity-planner";
+	public CompletableFuture<String> activityPlanner(Model model) {
+		// The status check waits on a subprocess
+		return blockingIo.submit(activityPlannerService::getServiceStatus).thenApply(serviceStatus -> {
+			model.addAttribute("serviceStatus", serviceStatus);
+			model.addAttribute("documentation", activityPlannerService.getServiceDocumentation());
+			return "admin-activity-planner";
+		});
 	}
 	
 	@PostMapping("/admin/activity-planner/start")
@@ -311,23 +420,24 @@ public String processPayouts(@RequestParam("dollars") int dollars,
 	
 	@PostMapping("/admin/activity-planner/stop")
 	@ResponseBody
-	public Map<String, Object> stopActivityPlanner() {
-		Map<String, Object> response = new HashMap<>();
-		try {
-			String result = activityPlannerService.stopActivityPlannerService();
-			response.put("success", true);
-			response.put("message", result);
-		} catch (Exception e) {
-			response.put("success", false);
-			response.put("error", e.getMessage());
-		}
-		return response;
+	public CompletableFuture<Map<String, Object>> stopActivityPlanner() {
+		return blockingIo.submit(activityPlannerService::stopActivityPlannerService).handle((result, error) -> {
+			Map<String, Object> response = new HashMap<>();
+			if (error != null) {
+				response.put("success", false);
+				response.put("error", (error.getCause() != null ? error.getCause() : error).getMessage());
+			} else {
+				response.put("success", true);
+				response.put("message", result);
+			}
+			return response;
+		});
 	}
 	
 	@GetMapping("/admin/activity-planner/status")
 	@ResponseBody
-	public Map<String, Object> getActivityPlannerStatus() {
-		return activityPlannerService.getServiceStatus();
+	public CompletableFuture<Map<String, Object>> getActivityPlannerStatus() {
+		return blockingIo.submit(activityPlannerService::getServiceStatus);
 	}
 	
 	@GetMapping("/admin/activity-planner/debug")
@@ -360,7 +470,7 @@ public String processPayouts(@RequestParam("dollars") int dollars,
 													@RequestParam("activityType") String activityType) {
 		Map<String, Object> response = new HashMap<>();
 		try {
-			Map<String, Object> newPlan = activityPlannerService.createNewPlanningSession(query, childAge, location, activityType);
+			ActivityPlan newPlan = activityPlannerService.createNewPlanningSession(query, childAge, location, activityType);
 			response.put("success", true);
 			response.put("plan", newPlan);
 			response.put("message", "New planning session created successfully");
@@ -0,0 +1,59 @@
+package com.superm.community.controller;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The JSON body of an AI assistant chat call, type-checked:
+ * {"message": "...", "history": [{"role": "...", "content": "..."}, ...]}
+ */
+final class ChatRequest {
+	private final String message;
+	private final List<Map<String, String>> history;
+
+	private ChatRequest(String message, List<Map<String, String>> history) {
+		this.message = message;
+		this.history = history;
+	}
+
+	/**
+	 * @throws IllegalArgumentException if the message is missing or a field has the wrong type
+	 */
+	static ChatRequest parse(Map<String, Object> body) {
+		Object message = body.get("message");
+		if (!(message instanceof String)) {
+			throw new IllegalArgumentException("message must be a string");
+		}
+		return new ChatRequest((String) message, parseHistory(body.get("history")));
+	}
+
+	// Optional prior turns, each a map of string fields such as role and content
+	private static List<Map<String, String>> parseHistory(Object history) {
+		if (history == null) {
+			return null;
+		}
+		if (!(history instanceof List)) {
+			throw new IllegalArgumentException("history must be a list");
+		}
+		List<Map<String, String>> turns = new ArrayList<>();
+		for (Object turn : (List<?>) history) {
+			if (!(turn instanceof Map)) {
+				throw new IllegalArgumentException("history entries must be objects");
+			}
+			Map<String, String> fields = new HashMap<>();
+			for (Map.Entry<?, ?> field : ((Map<?, ?>) turn).entrySet()) {
+				if (!(field.getValue() instanceof String)) {
+					throw new IllegalArgumentException("history fields must be strings");
+				}
+				fields.put(String.valueOf(field.getKey()), (String) field.getValue());
+			}
+			turns.add(fields);
+		}
+		return turns;
+	}
+
+	String getMessage() { return message; }
+	List<Map<String, String>> getHistory() { return history; }
+}
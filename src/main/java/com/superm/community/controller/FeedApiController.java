@@ -0,0 +1,155 @@
+package com.superm.community.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.superm.community.model.FeedView;
+import com.superm.community.model.Post;
+import com.superm.community.service.FeedCursor;
+import com.superm.community.service.FeedService;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Paginated JSON feed for infinite scroll.
+ * Pages come out of the user's ranking snapshot, so each call serializes only one page
+ * however many posts qualify. The stream variant writes NDJSON one post per line and
+ * flushes as it goes, so the first post reaches the client before the page is complete.
+ */
+@Controller
+public class FeedApiController {
+	public static final int DEFAULT_PAGE_SIZE = 10;
+	private static final int MAX_PAGE_SIZE = 50;
+	private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+	private final FeedService feedService;
+	private final ObjectMapper objectMapper;
+
+	public FeedApiController(FeedService feedService, ObjectMapper objectMapper) {
+		this.feedService = feedService;
+		this.objectMapper = objectMapper;
+	}
+
+	@GetMapping("/api/feed")
+	public ResponseEntity<Map<String, Object>> page(@RequestParam(value = "tab", defaultValue = "for-you") String tab,
+	                                                @RequestParam(value = "cursor", required = false) String cursor,
+	                                                @RequestParam(value = "limit", defaultValue = "10") int limit,
+	                                                HttpSession session) {
+		String userId = (String) session.getAttribute("userId");
+		if (userId == null) {
+			return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Not logged in"));
+		}
+		String bucket = bucketOf(tab);
+		FeedCursor position;
+		try {
+			position = FeedCursor.decode(cursor);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+		}
+		if (bucket == null) {
+			return ResponseEntity.badRequest().body(Map.of("error", "Unknown feed tab: " + tab));
+		}
+
+		FeedView view = feedService.getSnapshot(userId, (String[]) session.getAttribute("userTopics"), position.getSnapshotId());
+		List<Post> posts = view.getTab(bucket);
+		int from = Math.min(position.getOffset(), posts.size());
+		int to = Math.min(from + clampLimit(limit), posts.size());
+
+		List<Map<String, Object>> items = new ArrayList<>(to - from);
+		for (int i = from; i < to; i++) {
+			items.add(toJson(posts.get(i)));
+		}
+		Map<String, Object> body = new LinkedHashMap<>();
+		body.put("tab", tab);
+		body.put("posts", items);
+		body.put("nextCursor", to < posts.size() ? new FeedCursor(view.getId(), to).encode() : null);
+		return ResponseEntity.ok(body);
+	}
+
+	@GetMapping("/api/feed/stream")
+	public ResponseEntity<StreamingResponseBody> stream(@RequestParam(value = "tab", defaultValue = "for-you") String tab,
+	                                                    @RequestParam(value = "cursor", required = false) String cursor,
+	                                                    @RequestParam(value = "limit", defaultValue = "10") int limit,
+	                                                    HttpSession session) {
+		String userId = (String) session.getAttribute("userId");
+		if (userId == null) {
+			return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+		}
+		String bucket = bucketOf(tab);
+		FeedCursor position;
+		try {
+			position = FeedCursor.decode(cursor);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().build();
+		}
+		if (bucket == null) {
+			return ResponseEntity.badRequest().build();
+		}
+
+		// Resolve everything session-bound before the body is written on another thread
+		FeedView view = feedService.getSnapshot(userId, (String[]) session.getAttribute("userTopics"), position.getSnapshotId());
+		List<Post> posts = view.getTab(bucket);
+		int from = Math.min(position.getOffset(), posts.size());
+		int to = Math.min(from + clampLimit(limit), posts.size());
+		String nextCursor = to < posts.size() ? new FeedCursor(view.getId(), to).encode() : null;
+
+		StreamingResponseBody body = (OutputStream out) -> {
+			for (int i = from; i < to; i++) {
+				Map<String, Object> line = toJson(posts.get(i));
+				line.put("type", "post");
+				writeLine(out, line);
+			}
+			Map<String, Object> end = new LinkedHashMap<>();
+			end.put("type", "end");
+			end.put("nextCursor", nextCursor);
+			writeLine(out, end);
+		};
+		return ResponseEntity.ok().contentType(NDJSON).body(body);
+	}
+
+	private void writeLine(OutputStream out, Map<String, Object> line) throws IOException {
+		out.write(objectMapper.writeValueAsBytes(line));
+		out.write('\n');
+		out.flush();
+	}
+
+	private static int clampLimit(int limit) {
+		return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+	}
+
+	/**
+	 * URL tab name to summary bucket, null if unknown
+	 */
+	private static String bucketOf(String tab) {
+		switch (tab) {
+			case "for-you": return "For You";
+			case "trending": return "Trending";
+			case "recent": return "Recent";
+			case "popular": return "Popular";
+			default: return null;
+		}
+	}
+
+	private static Map<String, Object> toJson(Post post) {
+		Map<String, Object> json = new LinkedHashMap<>();
+		json.put("id", post.getId());
+		json.put("communityId", post.getCommunityId());
+		json.put("authorName", post.getAuthorName());
+		json.put("content", post.getContent());
+		json.put("createdAt", post.getCreatedAt().toString());
+		json.put("likes", post.getLikes());
+		json.put("comments", post.getComments());
+		return json;
+	}
+}
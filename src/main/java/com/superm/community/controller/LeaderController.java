@@ -1,5 +1,6 @@
 package com.superm.community.controller;
 
+import com.superm.community.service.EngagementHeavyHitters;
 import com.superm.community.service.StaticDataService;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -7,13 +8,22 @@ import org.springframework.web.bind.annotation.GetMapping;
 
 @Controller
 public class LeaderController {
+	private static final int TOP_N = 5;
+
 	private final StaticDataService data;
-	public LeaderController(StaticDataService data) { this.data = data; }
+	private final EngagementHeavyHitters heavyHitters;
+	public LeaderController(StaticDataService data, EngagementHeavyHitters heavyHitters) {
+		this.data = data;
+		this.heavyHitters = heavyHitters;
+	}
 
 	@GetMapping({"/leader","/leaders","/leader/"})
 	public String dashboard(Model model) {
 		model.addAttribute("communities", data.getAllCommunities());
 		model.addAttribute("engagement", data.getEngagementByCommunity());
+		model.addAttribute("topPosts", heavyHitters.getTopPosts(TOP_N));
+		model.addAttribute("topCommunities", heavyHitters.getTopCommunities(TOP_N));
+		model.addAttribute("windowHours", EngagementHeavyHitters.WINDOW_HOURS);
 		return "leader";
 	}
 }
@@ -1,37 +1,67 @@
 package com.superm.community.controller;
 
+import com.superm.community.model.ArticleSearchResult;
 import com.superm.community.model.Community;
-import com.superm.community.model.User;
+import com.superm.community.model.EngagementEvent;
+import com.superm.community.model.FeedView;
 import com.superm.community.model.Post;
+import com.superm.community.model.User;
 import com.superm.community.service.StaticDataService;
 import com.superm.community.service.AIAssistantService;
-import com.superm.community.service.PersonalizationService;
+import com.superm.community.service.BlockingIoExecutor;
+import com.superm.community.service.EngagementIngestionService;
+import com.superm.community.service.FeedCursor;
+import com.superm.community.service.FeedService;
+import com.superm.community.service.TopicVocabulary;
+import com.superm.community.service.VersionCounter;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Controller
 public class PublicController {
 	private final StaticDataService data;
 	private final AIAssistantService aiService;
-	private final PersonalizationService personalizationService;
+	private final EngagementIngestionService engagementIngestion;
+	private final FeedService feedService;
+	private final BlockingIoExecutor blockingIo;
+
+	// Upper bound on events accepted from a single batch call
+	private static final int MAX_EVENTS_PER_BATCH = 500;
 
-	public PublicController(StaticDataService data, AIAssistantService aiService, PersonalizationService personalizationService) {
+	// Feed tabs rendered server-side; the rest of each tab loads through /api/feed as the user scrolls
+	private static final String[] FEED_TABS = {"For You", "Trending", "Recent", "Popular"};
+
+	public PublicController(StaticDataService data, AIAssistantService aiService,
+			EngagementIngestionService engagementIngestion, FeedService feedService, BlockingIoExecutor blockingIo) {
 		this.data = data;
 		this.aiService = aiService;
-		this.personalizationService = personalizationService;
+		this.engagementIngestion = engagementIngestion;
+		this.feedService = feedService;
+		this.blockingIo = blockingIo;
 	}
 
 	@GetMapping("/")
-	public String home(@RequestParam(value = "q", required = false) String q, Model model) {
+	public String home(@RequestParam(value = "q", required = false) String q, Model model,
+			WebRequest request, HttpServletResponse response) {
+		// The page (search results included) is a function of the community catalog only
+		VersionCounter version = data.getCatalogVersion();
+		response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+		if (request.checkNotModified(version.etag("home"), version.getLastModifiedMillis())) {
+			return null;
+		}
 		List<Community> featured = data.getAllCommunities();
-		List<java.util.Map<String, Object>> searchResults = null;
+		List<ArticleSearchResult> searchResults = null;
 		
 		if (q != null && !q.isBlank()) {
 			String ql = q.toLowerCase();
@@ -117,6 +147,8 @@ public class PublicController {
 		session.setAttribute("userEmail", newUser.getEmail());
 		session.setAttribute("userTopics", topics);
 		
+		// Rank the feed while the browser follows the redirect
+		feedService.prewarm(newUser.getId(), topics);
 		return "redirect:/feed";
 	}
 
@@ -139,6 +171,14 @@ public class PublicController {
 			session.setAttribute("userId", user.getId());
 			session.setAttribute("userName", user.getName());
 			session.setAttribute("userEmail", user.getEmail());
+			long topicMask = data.getUserTopicMask(user.getId());
+			String[] userTopics = topicMask != 0L ? TopicVocabulary.topicsOf(topicMask) : null;
+			if (userTopics != null) {
+				session.setAttribute("userTopics", userTopics);
+			}
+			
+			// Rank the feed while the browser follows the redirect
+			feedService.prewarm(user.getId(), userTopics);
 			return "redirect:/feed";
 		} else {
 			model.addAttribute("error", "Invalid username or password");
@@ -148,6 +188,10 @@ public class PublicController {
 	
 	@GetMapping("/logout")
 	public String logout(HttpSession session) {
+		String userId = (String) session.getAttribute("userId");
+		if (userId != null) {
+			feedService.discardSnapshot(userId);
+		}
 		session.invalidate();
 		return "redirect:/";
 	}
@@ -185,31 +229,28 @@ public class PublicController {
 		// Get user topics from session
 		String[] userTopics = (String[]) session.getAttribute("userTopics");
 		
-		// Get recommended communities based on topics
-		List<Community> recommendedCommunities = data.getRecommendedCommunities(userTopics);
-		List<Community> allCommunities = data.getAllCommunities();
-		
-		// Get AI-personalized feed
-		List<Post> allPosts = data.getAllPosts();
-		List<Post> personalizedPosts = personalizationService.getPersonalizedFeed(
-			userId, allPosts, userTopics, allCommunities
-		);
-		
-		// Get categorized feed
-		Map<String, List<Post>> categorizedFeed = personalizationService.categorizeFeed(personalizedPosts, allCommunities);
-		
-		// Get feed insights
-		Map<String, Object> feedInsights = personalizationService.getFeedInsights(personalizedPosts);
-		Map<String, Object> userInsights = personalizationService.getUserFeedInsights(userId, userTopics);
+		// Joins the feed pre-warmed at login/signup when there is one
+		FeedView feedView = feedService.getFeed(userId, userTopics);
 		
 		model.addAttribute("userName", session.getAttribute("userName"));
-		model.addAttribute("communities", recommendedCommunities);
-		model.addAttribute("allCommunities", allCommunities);
-		model.addAttribute("posts", personalizedPosts);
-		model.addAttribute("categorizedFeed", categorizedFeed);
-		model.addAttribute("feedInsights", feedInsights);
-		model.addAttribute("userInsights", userInsights);
-		model.addAttribute("hasRecommendations", userTopics != null && userTopics.length > 0);
+		model.addAttribute("communities", feedView.getRecommendedCommunities());
+		model.addAttribute("allCommunities", feedView.getAllCommunities());
+		model.addAttribute("posts", feedView.getPosts());
+		
+		// Only the first page of each tab goes into the HTML, plus a cursor for the next one
+		Map<String, List<Post>> firstPages = new HashMap<>();
+		Map<String, String> nextCursors = new HashMap<>();
+		for (String tab : FEED_TABS) {
+			List<Post> posts = feedView.getTab(tab);
+			int end = Math.min(FeedApiController.DEFAULT_PAGE_SIZE, posts.size());
+			firstPages.put(tab, posts.subList(0, end));
+			nextCursors.put(tab, end < posts.size() ? new FeedCursor(feedView.getId(), end).encode() : "");
+		}
+		model.addAttribute("categorizedFeed", firstPages);
+		model.addAttribute("feedCursors", nextCursors);
+		model.addAttribute("feedInsights", feedView.getSummary());
+		model.addAttribute("userInsights", feedView.getUserInsights());
+		model.addAttribute("hasRecommendations", feedView.hasTopics());
 		return "feed";
 	}
 	
@@ -220,8 +261,11 @@ public class PublicController {
 		String userId = (String) session.getAttribute("userId");
 		String postId = request.get("postId");
 		
+		if (postId != null && data.findPostById(postId) == null) {
+			return Map.of("success", false, "error", "Unknown post");
+		}
 		if (userId != null && postId != null) {
-			personalizationService.trackPostView(userId, postId);
+			engagementIngestion.submit(new EngagementEvent(EngagementEvent.Type.VIEW, userId, postId));
 		}
 		
 		return Map.of("success", true);
@@ -233,19 +277,65 @@ public class PublicController {
 		String userId = (String) session.getAttribute("userId");
 		String postId = request.get("postId");
 		
+		if (postId != null && data.findPostById(postId) == null) {
+			return Map.of("success", false, "error", "Unknown post");
+		}
 		if (userId != null && postId != null) {
-			personalizationService.trackPostLike(userId, postId);
+			engagementIngestion.submit(new EngagementEvent(EngagementEvent.Type.LIKE, userId, postId));
 		}
 		
 		return Map.of("success", true);
 	}
+	
+	// Batched engagement tracking: {"events": [{"type": "view", "postId": "p1"}, ...]}
+	@PostMapping("/feed/track-batch")
+	@ResponseBody
+	public Map<String, Object> trackBatch(@RequestBody Map<String, Object> request, HttpSession session) {
+		String userId = (String) session.getAttribute("userId");
+		if (userId == null) {
+			return Map.of("success", false, "error", "Not authenticated");
+		}
+		
+		int accepted = 0;
+		int rejected = 0;
+		if (request.get("events") instanceof List) {
+			List<?> events = (List<?>) request.get("events");
+			int limit = Math.min(events.size(), MAX_EVENTS_PER_BATCH);
+			for (int i = 0; i < limit; i++) {
+				// Malformed events and unknown posts are rejected rather than failing the whole batch
+				if (!(events.get(i) instanceof Map)) {
+					rejected++;
+					continue;
+				}
+				Map<?, ?> event = (Map<?, ?>) events.get(i);
+				if (!(event.get("postId") instanceof String) || data.findPostById((String) event.get("postId")) == null) {
+					rejected++;
+					continue;
+				}
+				String postId = (String) event.get("postId");
+				Object typeName = event.get("type");
+				EngagementEvent.Type type = typeName instanceof String && "like".equalsIgnoreCase((String) typeName)
+					? EngagementEvent.Type.LIKE : EngagementEvent.Type.VIEW;
+				if (engagementIngestion.submit(new EngagementEvent(type, userId, postId))) {
+					accepted++;
+				}
+			}
+		}
+		
+		return Map.of("success", true, "accepted", accepted, "rejected", rejected);
+	}
 
 	@GetMapping("/community/{id}")
-	public String community(@PathVariable String id, Model model) {
+	public String community(@PathVariable String id, Model model, WebRequest request, HttpServletResponse response) {
 		Community community = data.findCommunityById(id);
 		if (community == null) {
 			return "redirect:/";
 		}
+		VersionCounter version = data.getCommunityVersion(id);
+		response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+		if (request.checkNotModified(version.etag("community-" + id), version.getLastModifiedMillis())) {
+			return null;
+		}
 		model.addAttribute("community", community);
 		model.addAttribute("posts", data.getPostsForCommunity(id));
 		model.addAttribute("articles", data.getArticlesByCommunity(id));
@@ -267,34 +357,39 @@ public class PublicController {
 	
 	@PostMapping("/ai-assistant/chat")
 	@ResponseBody
-	public Map<String, Object> aiChat(@RequestBody Map<String, Object> request, HttpSession session) {
+	public CompletableFuture<Map<String, Object>> aiChat(@RequestBody Map<String, Object> request, HttpSession session) {
 		Map<String, Object> response = new HashMap<>();
 		
+		// Check if user is logged in
+		String userName = (String) session.getAttribute("userName");
+		if (userName == null) {
+			response.put("success", false);
+			response.put("error", "Not authenticated");
+			return CompletableFuture.completedFuture(response);
+		}
+		
+		ChatRequest chat;
 		try {
-			// Check if user is logged in
-			String userName = (String) session.getAttribute("userName");
-			if (userName == null) {
-				response.put("success", false);
-				response.put("error", "Not authenticated");
-				return response;
-			}
-			
-			String message = (String) request.get("message");
-			@SuppressWarnings("unchecked")
-			List<Map<String, String>> history = (List<Map<String, String>>) request.get("history");
-			
-			// Get AI response
-			String aiResponse = aiService.getAIResponse(message, userName, history);
-			
-			response.put("success", true);
-			response.put("response", aiResponse);
-			response.put("canShare", true);
-			
-		} catch (Exception e) {
+			chat = ChatRequest.parse(request);
+		} catch (IllegalArgumentException e) {
 			response.put("success", false);
 			response.put("error", e.getMessage());
+			return CompletableFuture.completedFuture(response);
 		}
 		
-		return response;
+		// Get AI response; the slow call runs on the blocking I/O executor when offloading is on
+		return blockingIo.submit(() -> aiService.getAIResponse(chat.getMessage(), userName, chat.getHistory()))
+			.handle((aiResponse, error) -> {
+				if (error != null) {
+					Throwable cause = error.getCause() != null ? error.getCause() : error;
+					response.put("success", false);
+					response.put("error", cause.getMessage());
+				} else {
+					response.put("success", true);
+					response.put("response", aiResponse);
+					response.put("canShare", true);
+				}
+				return response;
+			});
 	}
 }
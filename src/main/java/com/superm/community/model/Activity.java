@@ -0,0 +1,45 @@
+package com.superm.community.model;
+
+/**
+ * One suggested activity within an activity plan.
+ */
+public class Activity {
+	private final String name;
+	private final String type;
+	private final String ageRange;
+	private final String description;
+	private final String location;
+	private final String price;
+	private final String duration;
+	private final String rating;
+	private final String safety;
+	private final String educationalValue;
+	private final String url;
+
+	public Activity(String name, String type, String ageRange, String description, String location, String price,
+			String duration, String rating, String safety, String educationalValue, String url) {
+		this.name = name;
+		this.type = type;
+		this.ageRange = ageRange;
+		this.description = description;
+		this.location = location;
+		this.price = price;
+		this.duration = duration;
+		this.rating = rating;
+		this.safety = safety;
+		this.educationalValue = educationalValue;
+		this.url = url;
+	}
+
+	public String getName() { return name; }
+	public String getType() { return type; }
+	public String getAgeRange() { return ageRange; }
+	public String getDescription() { return description; }
+	public String getLocation() { return location; }
+	public String getPrice() { return price; }
+	public String getDuration() { return duration; }
+	public String getRating() { return rating; }
+	public String getSafety() { return safety; }
+	public String getEducationalValue() { return educationalValue; }
+	public String getUrl() { return url; }
+}
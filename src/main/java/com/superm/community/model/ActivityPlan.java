@@ -0,0 +1,39 @@
+package com.superm.community.model;
+
+/**
+ * A completed activity planning session from the activity planner agent.
+ */
+public class ActivityPlan {
+	private final String id;
+	private final String timestamp;
+	private final String query;
+	private final String childAge;
+	private final String location;
+	private final String activityType;
+	private final String status;
+	private final int resultsCount;
+	private final String summary;
+
+	public ActivityPlan(String id, String timestamp, String query, String childAge, String location,
+			String activityType, String status, int resultsCount, String summary) {
+		this.id = id;
+		this.timestamp = timestamp;
+		this.query = query;
+		this.childAge = childAge;
+		this.location = location;
+		this.activityType = activityType;
+		this.status = status;
+		this.resultsCount = resultsCount;
+		this.summary = summary;
+	}
+
+	public String getId() { return id; }
+	public String getTimestamp() { return timestamp; }
+	public String getQuery() { return query; }
+	public String getChildAge() { return childAge; }
+	public String getLocation() { return location; }
+	public String getActivityType() { return activityType; }
+	public String getStatus() { return status; }
+	public int getResultsCount() { return resultsCount; }
+	public String getSummary() { return summary; }
+}
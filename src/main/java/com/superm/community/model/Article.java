@@ -0,0 +1,32 @@
+package com.superm.community.model;
+
+/**
+ * A community article as shown on the community pages and in search results.
+ */
+public class Article {
+	private final String title;
+	private final String author;
+	private final String excerpt;
+	private final String publishedDate;
+	private final int views;
+	private final int likes;
+	private final int comments;
+
+	public Article(String title, String author, String excerpt, String publishedDate, int views, int likes, int comments) {
+		this.title = title;
+		this.author = author;
+		this.excerpt = excerpt;
+		this.publishedDate = publishedDate;
+		this.views = views;
+		this.likes = likes;
+		this.comments = comments;
+	}
+
+	public String getTitle() { return title; }
+	public String getAuthor() { return author; }
+	public String getExcerpt() { return excerpt; }
+	public String getPublishedDate() { return publishedDate; }
+	public int getViews() { return views; }
+	public int getLikes() { return likes; }
+	public int getComments() { return comments; }
+}
@@ -0,0 +1,17 @@
+package com.superm.community.model;
+
+/**
+ * An article matching a home page search, with the community it was found in.
+ */
+public class ArticleSearchResult {
+	private final Article article;
+	private final Community community;
+
+	public ArticleSearchResult(Article article, Community community) {
+		this.article = article;
+		this.community = community;
+	}
+
+	public Article getArticle() { return article; }
+	public Community getCommunity() { return community; }
+}
@@ -9,6 +9,7 @@ public class Community {
 	private String leaderName;
 	private int memberCount;
 	private LocalDate created;
+	private volatile long topicMask; // signup topics mentioned in name or description, set at load time
 
 	public Community(String id, String name, String description, String leaderName, int memberCount, LocalDate created) {
 		this.id = id;
@@ -25,4 +26,6 @@ public class Community {
 	public String getLeaderName() { return leaderName; }
 	public int getMemberCount() { return memberCount; }
 	public LocalDate getCreated() { return created; }
+	public long getTopicMask() { return topicMask; }
+	public void setTopicMask(long topicMask) { this.topicMask = topicMask; }
 }
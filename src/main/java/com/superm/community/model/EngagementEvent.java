@@ -0,0 +1,35 @@
+package com.superm.community.model;
+
+import java.util.Objects;
+
+public class EngagementEvent {
+	public enum Type { VIEW, LIKE }
+
+	private final Type type;
+	private final String userId;
+	private final String postId;
+
+	public EngagementEvent(Type type, String userId, String postId) {
+		this.type = type;
+		this.userId = userId;
+		this.postId = postId;
+	}
+
+	public Type getType() { return type; }
+	public String getUserId() { return userId; }
+	public String getPostId() { return postId; }
+
+	// Equality drives coalescing: the same user viewing or liking the same post twice is one event
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (!(o instanceof EngagementEvent)) return false;
+		EngagementEvent other = (EngagementEvent) o;
+		return type == other.type && userId.equals(other.userId) && postId.equals(other.postId);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(type, userId, postId);
+	}
+}
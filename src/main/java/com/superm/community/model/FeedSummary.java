@@ -0,0 +1,35 @@
+package com.superm.community.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the feed page derives from the ranked list, built in a single pass.
+ */
+public class FeedSummary {
+	private final Map<String, List<Post>> buckets; // For You, Trending, Recent, Popular
+	private final long freshContentCount;
+	private final long popularPostsCount;
+	private final int totalPostsAvailable;
+	private final int uniqueCommunities;
+	private final long averageContentAgeHours;
+
+	public FeedSummary(Map<String, List<Post>> buckets, long freshContentCount, long popularPostsCount,
+			int totalPostsAvailable, int uniqueCommunities, long averageContentAgeHours) {
+		this.buckets = buckets;
+		this.freshContentCount = freshContentCount;
+		this.popularPostsCount = popularPostsCount;
+		this.totalPostsAvailable = totalPostsAvailable;
+		this.uniqueCommunities = uniqueCommunities;
+		this.averageContentAgeHours = averageContentAgeHours;
+	}
+
+	public Map<String, List<Post>> getBuckets() { return buckets; }
+	public long getFreshContentCount() { return freshContentCount; }
+	public long getPopularPostsCount() { return popularPostsCount; }
+	public int getTotalPostsAvailable() { return totalPostsAvailable; }
+	public int getUniqueCommunities() { return uniqueCommunities; }
+	public double getDiversityScore() { return (double) uniqueCommunities / Math.max(totalPostsAvailable, 1); }
+	public long getAverageContentAgeHours() { return averageContentAgeHours; }
+	public String getAverageContentAge() { return averageContentAgeHours + " hours"; }
+}
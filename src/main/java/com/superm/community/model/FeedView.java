@@ -0,0 +1,55 @@
+package com.superm.community.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the feed page renders for one user, computed in one go.
+ */
+public class FeedView {
+	private final long id; // identifies this ranking snapshot in pagination cursors
+	private final String[] userTopics; // topics the view was ranked for
+	private final List<Community> recommendedCommunities;
+	private final List<Community> allCommunities;
+	private final List<Post> posts;
+	private final FeedSummary summary;
+	private final Map<String, Object> userInsights;
+	private final long createdAtMillis;
+
+	public FeedView(long id, String[] userTopics, List<Community> recommendedCommunities, List<Community> allCommunities,
+			List<Post> posts, FeedSummary summary, Map<String, Object> userInsights) {
+		this.id = id;
+		this.userTopics = userTopics == null ? null : userTopics.clone();
+		this.recommendedCommunities = recommendedCommunities;
+		this.allCommunities = allCommunities;
+		this.posts = posts;
+		this.summary = summary;
+		this.userInsights = userInsights;
+		this.createdAtMillis = System.currentTimeMillis();
+	}
+
+	public long getId() { return id; }
+	public List<Community> getRecommendedCommunities() { return recommendedCommunities; }
+	public List<Community> getAllCommunities() { return allCommunities; }
+	public List<Post> getPosts() { return posts; }
+	public FeedSummary getSummary() { return summary; }
+	public Map<String, Object> getUserInsights() { return userInsights; }
+	public long getCreatedAtMillis() { return createdAtMillis; }
+	public boolean hasTopics() { return userTopics != null && userTopics.length > 0; }
+
+	public boolean isFor(String[] topics) {
+		return Arrays.equals(userTopics, topics);
+	}
+
+	/**
+	 * Posts of a feed tab: the whole ranked list for "For You", otherwise the summary bucket
+	 */
+	public List<Post> getTab(String tab) {
+		if (tab == null || "For You".equals(tab)) {
+			return posts;
+		}
+		return summary.getBuckets().getOrDefault(tab, Collections.emptyList());
+	}
+}
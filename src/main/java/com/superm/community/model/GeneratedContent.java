@@ -0,0 +1,82 @@
+package com.superm.community.model;
+
+/**
+ * A piece of AI-generated content. The generator fills in the body for its content type
+ * (article, video or photo) once, before the content is stored or rendered; fields that
+ * do not apply to the type stay null.
+ */
+public class GeneratedContent {
+	private final String id;
+	private final String type;
+	private final String topic;
+	private final String communityId;
+	private final String aiTool;
+	private final String generatedAt;
+	private String error;
+	private String title;
+	private String content;
+	private Integer wordCount;
+	private String readingTime;
+	private String script;
+	private String duration;
+	private String caption;
+	private String hashtags;
+	private String altText;
+
+	public GeneratedContent(String id, String type, String topic, String communityId, String aiTool, String generatedAt) {
+		this.id = id;
+		this.type = type;
+		this.topic = topic;
+		this.communityId = communityId;
+		this.aiTool = aiTool;
+		this.generatedAt = generatedAt;
+	}
+
+	public void setArticle(String title, String content, int wordCount, String readingTime) {
+		this.title = title;
+		this.content = content;
+		this.wordCount = wordCount;
+		this.readingTime = readingTime;
+	}
+
+	public void setVideo(String title, String script, String duration, String hashtags) {
+		this.title = title;
+		this.script = script;
+		this.duration = duration;
+		this.hashtags = hashtags;
+	}
+
+	public void setPhoto(String title, String caption, String hashtags, String altText) {
+		this.title = title;
+		this.caption = caption;
+		this.hashtags = hashtags;
+		this.altText = altText;
+	}
+
+	// Body for content types without a dedicated layout
+	public void setContent(String content) {
+		this.content = content;
+	}
+
+	public void setError(String error) {
+		this.error = error;
+	}
+
+	public String getId() { return id; }
+	public String getType() { return type; }
+	public String getTopic() { return topic; }
+	public String getCommunityId() { return communityId; }
+	public String getAiTool() { return aiTool; }
+	public String getGeneratedAt() { return generatedAt; }
+	public String getStatus() { return error == null ? "Generated" : "Error"; }
+	public String getError() { return error; }
+	public String getTitle() { return title; }
+	public String getContent() { return content; }
+	public Integer getWordCount() { return wordCount; }
+	public String getReadingTime() { return readingTime; }
+	public String getScript() { return script; }
+	public String getDuration() { return duration; }
+	public String getCaption() { return caption; }
+	public String getHashtags() { return hashtags; }
+	public String getAltText() { return altText; }
+}
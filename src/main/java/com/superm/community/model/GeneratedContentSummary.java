@@ -0,0 +1,29 @@
+package com.superm.community.model;
+
+/**
+ * An entry in the content generator's recent content list.
+ */
+public class GeneratedContentSummary {
+	private final String id;
+	private final String type;
+	private final String title;
+	private final String community;
+	private final String status;
+	private final String timeAgo;
+
+	public GeneratedContentSummary(String id, String type, String title, String community, String status, String timeAgo) {
+		this.id = id;
+		this.type = type;
+		this.title = title;
+		this.community = community;
+		this.status = status;
+		this.timeAgo = timeAgo;
+	}
+
+	public String getId() { return id; }
+	public String getType() { return type; }
+	public String getTitle() { return title; }
+	public String getCommunity() { return community; }
+	public String getStatus() { return status; }
+	public String getTimeAgo() { return timeAgo; }
+}
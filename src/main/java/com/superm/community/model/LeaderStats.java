@@ -0,0 +1,26 @@
+package com.superm.community.model;
+
+import java.util.List;
+
+/**
+ * Per-leader aggregate kept current by StaticDataService as communities and posts change,
+ * so payouts read one entry per leader instead of scanning every community and post.
+ */
+public class LeaderStats {
+	private final String leaderName;
+	private final List<String> communityIds;
+	private final String communityNames; // comma-separated, as shown on the rewards console
+	private final int postCount;
+
+	public LeaderStats(String leaderName, List<String> communityIds, String communityNames, int postCount) {
+		this.leaderName = leaderName;
+		this.communityIds = List.copyOf(communityIds);
+		this.communityNames = communityNames;
+		this.postCount = postCount;
+	}
+
+	public String getLeaderName() { return leaderName; }
+	public List<String> getCommunityIds() { return communityIds; }
+	public String getCommunityNames() { return communityNames; }
+	public int getPostCount() { return postCount; }
+}
@@ -0,0 +1,32 @@
+package com.superm.community.model;
+
+/**
+ * One leader's payout within a payout run, as recorded in the payout ledger.
+ */
+public class PayoutLine {
+	private final String runId;
+	private final String leaderId;
+	private final String leaderName;
+	private final int posts;
+	private final long dollars;
+	private final long tokens;
+	private final long recordedAtMillis;
+
+	public PayoutLine(String runId, String leaderId, String leaderName, int posts, long dollars, long tokens, long recordedAtMillis) {
+		this.runId = runId;
+		this.leaderId = leaderId;
+		this.leaderName = leaderName;
+		this.posts = posts;
+		this.dollars = dollars;
+		this.tokens = tokens;
+		this.recordedAtMillis = recordedAtMillis;
+	}
+
+	public String getRunId() { return runId; }
+	public String getLeaderId() { return leaderId; }
+	public String getLeaderName() { return leaderName; }
+	public int getPosts() { return posts; }
+	public long getDollars() { return dollars; }
+	public long getTokens() { return tokens; }
+	public long getRecordedAtMillis() { return recordedAtMillis; }
+}
@@ -1,6 +1,7 @@
 package com.superm.community.model;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.atomic.LongAdder;
 
 public class Post {
 	private String id;
@@ -9,8 +10,10 @@ public class Post {
 	private String content;
 	private String mediaUrl; // image/video optional
 	private LocalDateTime createdAt;
-	private int likes;
-	private int comments;
+	// Live counters: striped so concurrent likes on a hot post never contend on one cell
+	private final LongAdder likes = new LongAdder();
+	private final LongAdder comments = new LongAdder();
+	private volatile PostFeatures features; // extracted once at load time
 
 	public Post(String id, String communityId, String authorName, String content, String mediaUrl, LocalDateTime createdAt, int likes, int comments) {
 		this.id = id;
@@ -19,8 +22,8 @@ public class Post {
 		this.content = content;
 		this.mediaUrl = mediaUrl;
 		this.createdAt = createdAt;
-		this.likes = likes;
-		this.comments = comments;
+		this.likes.add(likes);
+		this.comments.add(comments);
 	}
 
 	public String getId() { return id; }
@@ -29,6 +32,19 @@ public class Post {
 	public String getContent() { return content; }
 	public String getMediaUrl() { return mediaUrl; }
 	public LocalDateTime getCreatedAt() { return createdAt; }
-	public int getLikes() { return likes; }
-	public int getComments() { return comments; }
+	public int getLikes() { return (int) likes.sum(); }
+	public int getComments() { return (int) comments.sum(); }
+	public void incrementLikes() { likes.increment(); }
+
+	/**
+	 * Reset both counters to persisted values; only meant for startup, before the post is shared
+	 */
+	public void restoreCounts(long likes, long comments) {
+		this.likes.reset();
+		this.likes.add(likes);
+		this.comments.reset();
+		this.comments.add(comments);
+	}
+	public PostFeatures getFeatures() { return features; }
+	public void setFeatures(PostFeatures features) { this.features = features; }
 }
@@ -0,0 +1,24 @@
+package com.superm.community.model;
+
+/**
+ * Ranking features extracted once from a post's text so feed scoring is pure bit arithmetic.
+ */
+public class PostFeatures {
+	// Time-of-day keyword categories
+	public static final int MORNING = 1;
+	public static final int ACTIVITY = 1 << 1;
+	public static final int NUTRITION = 1 << 2;
+	public static final int SLEEP = 1 << 3;
+	public static final int NIGHT = 1 << 4;
+
+	private final int timeCategoryMask;
+	private final long topicMask;
+
+	public PostFeatures(int timeCategoryMask, long topicMask) {
+		this.timeCategoryMask = timeCategoryMask;
+		this.topicMask = topicMask;
+	}
+
+	public int getTimeCategoryMask() { return timeCategoryMask; }
+	public long getTopicMask() { return topicMask; }
+}
@@ -0,0 +1,29 @@
+package com.superm.community.model;
+
+/**
+ * One row of the admin analytics event log.
+ */
+public class UserEvent {
+	private final String eventType;
+	private final String target;
+	private final String user;
+	private final String location;
+	private final String timestamp;
+	private final String device;
+
+	public UserEvent(String eventType, String target, String user, String location, String timestamp, String device) {
+		this.eventType = eventType;
+		this.target = target;
+		this.user = user;
+		this.location = location;
+		this.timestamp = timestamp;
+		this.device = device;
+	}
+
+	public String getEventType() { return eventType; }
+	public String getTarget() { return target; }
+	public String getUser() { return user; }
+	public String getLocation() { return location; }
+	public String getTimestamp() { return timestamp; }
+	public String getDevice() { return device; }
+}
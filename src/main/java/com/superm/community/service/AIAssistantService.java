@@ -1,8 +1,27 @@
 package com.superm.community.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 public class AIAssistantService {
@@ -12,6 +31,37 @@ public class AIAssistantService {
     private static final String OPENAI_API_KEY = "your-api-key-here"; // Replace with actual key
     private static final String OPENAI_API_URL = "https://api.openai.com/v1/chat/completions";
     
+    // Stand-in for the round trip of a real API call, for load testing the simulation
+    @Value("${ai.assistant.simulated-latency-ms:0}")
+    private long simulatedLatencyMs;
+    
+    // Source of streamed replies: "simulated" (keyword responder) or "openai" (needs an API key)
+    @Value("${ai.assistant.provider:simulated}")
+    private String provider;
+    
+    @Value("${openai.api.key:${OPENAI_API_KEY:}}")
+    private String openaiApiKey;
+    
+    @Value("${ai.assistant.openai-url:" + OPENAI_API_URL + "}")
+    private String openaiUrl;
+    
+    // Pace of simulated streaming, per chunk
+    @Value("${ai.assistant.stream-chunk-delay-ms:30}")
+    private long chunkDelayMs;
+    
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ScheduledExecutorService streamScheduler = Executors.newScheduledThreadPool(2, r -> {
+        Thread thread = new Thread(r, "ai-stream");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    @PreDestroy
+    void stop() {
+        streamScheduler.shutdownNow();
+    }
+    
     /**
      * Get AI response for a parenting question
      * This is a SIMULATED response for demo purposes
@@ -20,6 +70,13 @@ public class AIAssistantService {
     public String getAIResponse(String userMessage, String userName, List<Map<String, String>> history) {
         // SIMULATION: Generate contextual response based on keywords
         String response = generateSimulatedResponse(userMessage, userName);
+        if (simulatedLatencyMs > 0) {
+            try {
+                Thread.sleep(simulatedLatencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
         
         /* 
          * PRODUCTION CODE (uncomment when you have an API key):
@@ -69,6 +126,101 @@ public class AIAssistantService {
         return response;
     }
     
+    /**
+     * Stream a reply chunk by chunk to listener. Returns immediately: simulated chunks are
+     * scheduled one at a time and completion API tokens arrive on the HTTP client's threads,
+     * so no thread waits on the reply. Cancel the returned stream to abort the upstream call.
+     */
+    public AIReplyStream streamAIResponse(String userMessage, String userName, List<Map<String, String>> history,
+                                          AIReplyStream.Listener listener) {
+        AIReplyStream stream = new AIReplyStream();
+        if ("openai".equalsIgnoreCase(provider) && openaiApiKey != null && !openaiApiKey.isBlank()) {
+            streamFromOpenAI(userMessage, userName, history, listener, stream);
+        } else {
+            streamSimulated(generateSimulatedResponse(userMessage, userName), listener, stream);
+        }
+        return stream;
+    }
+    
+    private void streamSimulated(String response, AIReplyStream.Listener listener, AIReplyStream stream) {
+        // Words with their trailing whitespace, so the chunks concatenate back to the response
+        String[] chunks = response.split("(?<=\\s)");
+        AtomicInteger next = new AtomicInteger();
+        Runnable emit = new Runnable() {
+            @Override
+            public void run() {
+                if (stream.isCancelled()) {
+                    return;
+                }
+                int index = next.getAndIncrement();
+                try {
+                    if (index >= chunks.length) {
+                        listener.onComplete();
+                        return;
+                    }
+                    listener.onToken(chunks[index]);
+                } catch (RuntimeException e) {
+                    stream.cancel();
+                    return;
+                }
+                ScheduledFuture<?> pending = streamScheduler.schedule(this, chunkDelayMs, TimeUnit.MILLISECONDS);
+                stream.onCancel(() -> pending.cancel(false));
+            }
+        };
+        ScheduledFuture<?> first = streamScheduler.schedule(emit, chunkDelayMs, TimeUnit.MILLISECONDS);
+        stream.onCancel(() -> first.cancel(false));
+    }
+    
+    private void streamFromOpenAI(String userMessage, String userName, List<Map<String, String>> history,
+                                  AIReplyStream.Listener listener, AIReplyStream stream) {
+        List<Map<String, String>> messages = new ArrayList<>();
+        messages.add(Map.of("role", "system", "content", buildSystemPrompt(userName)));
+        if (history != null) {
+            messages.addAll(history);
+        }
+        messages.add(Map.of("role", "user", "content", userMessage));
+        
+        String requestBody;
+        try {
+            requestBody = objectMapper.writeValueAsString(Map.of(
+                "model", "gpt-4",
+                "messages", messages,
+                "temperature", 0.7,
+                "max_tokens", 800,
+                "stream", true
+            ));
+        } catch (JsonProcessingException e) {
+            listener.onError(e);
+            return;
+        }
+        HttpRequest request = HttpRequest.newBuilder()
+            .uri(URI.create(openaiUrl))
+            .header("Content-Type", "application/json")
+            .header("Authorization", "Bearer " + openaiApiKey)
+            .POST(HttpRequest.BodyPublishers.ofString(requestBody))
+            .build();
+        
+        CompletionLineSubscriber lines = new CompletionLineSubscriber(listener, objectMapper);
+        CompletableFuture<HttpResponse<Void>> exchange = httpClient.sendAsync(request, info ->
+            info.statusCode() == 200
+                ? HttpResponse.BodySubscribers.fromLineSubscriber(lines)
+                : HttpResponse.BodySubscribers.replacing(null));
+        stream.onCancel(() -> {
+            lines.cancel();
+            exchange.cancel(true);
+        });
+        exchange.whenComplete((response, error) -> {
+            if (stream.isCancelled()) {
+                return;
+            }
+            if (error != null) {
+                lines.fail(error);
+            } else if (response.statusCode() != 200) {
+                lines.fail(new IllegalStateException("Completion API returned HTTP " + response.statusCode()));
+            }
+        });
+    }
+    
     /**
      * Build system prompt for AI with parenting context
      */
@@ -261,5 +413,82 @@ public class AIAssistantService {
             userName
         );
     }
+    
+    /**
+     * Server-sent event lines from the streaming chat completions API: "data: {json}" per
+     * delta, then "data: [DONE]". Forwards each delta's content as a token.
+     */
+    private static final class CompletionLineSubscriber implements Flow.Subscriber<String> {
+        private final AIReplyStream.Listener listener;
+        private final ObjectMapper objectMapper;
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private volatile Flow.Subscription subscription;
+        
+        CompletionLineSubscriber(AIReplyStream.Listener listener, ObjectMapper objectMapper) {
+            this.listener = listener;
+            this.objectMapper = objectMapper;
+        }
+        
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (finished.get()) {
+                subscription.cancel();
+            } else {
+                subscription.request(Long.MAX_VALUE);
+            }
+        }
+        
+        @Override
+        public void onNext(String line) {
+            if (finished.get() || !line.startsWith("data:")) {
+                return;
+            }
+            String payload = line.substring(5).trim();
+            if ("[DONE]".equals(payload)) {
+                onComplete();
+                return;
+            }
+            try {
+                JsonNode content = objectMapper.readTree(payload).path("choices").path(0).path("delta").path("content");
+                if (content.isTextual() && !content.asText().isEmpty()) {
+                    listener.onToken(content.asText());
+                }
+            } catch (Exception e) {
+                fail(e);
+            }
+        }
+        
+        @Override
+        public void onError(Throwable error) {
+            fail(error);
+        }
+        
+        @Override
+        public void onComplete() {
+            if (finished.compareAndSet(false, true)) {
+                listener.onComplete();
+            }
+        }
+        
+        void fail(Throwable error) {
+            if (finished.compareAndSet(false, true)) {
+                cancelSubscription();
+                listener.onError(error);
+            }
+        }
+        
+        // Client went away: stop reading without reporting anything
+        void cancel() {
+            finished.set(true);
+            cancelSubscription();
+        }
+        
+        private void cancelSubscription() {
+            Flow.Subscription current = subscription;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+    }
 }
-
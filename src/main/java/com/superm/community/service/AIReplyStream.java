@@ -0,0 +1,47 @@
+package com.superm.community.service;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Handle on one streaming AI reply. Cancelling stops token delivery and aborts the
+ * upstream call (pending simulated chunks, or the HTTP exchange with the completion API).
+ */
+public final class AIReplyStream {
+
+    /**
+     * Receives a reply as it is produced; called from background threads, never concurrently
+     */
+    public interface Listener {
+        void onToken(String token);
+
+        void onComplete();
+
+        void onError(Throwable error);
+    }
+
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private volatile Runnable abort;
+
+    public void cancel() {
+        if (cancelled.compareAndSet(false, true)) {
+            Runnable action = abort;
+            if (action != null) {
+                action.run();
+            }
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled.get();
+    }
+
+    /**
+     * Registers how to abort the upstream work; runs it at once if already cancelled
+     */
+    void onCancel(Runnable action) {
+        abort = action;
+        if (cancelled.get()) {
+            action.run();
+        }
+    }
+}
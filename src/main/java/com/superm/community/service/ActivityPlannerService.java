@@ -1,5 +1,7 @@
 package com.superm.community.service;
 
+import com.superm.community.model.Activity;
+import com.superm.community.model.ActivityPlan;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ClassPathResource;
@@ -23,8 +25,8 @@ public class ActivityPlannerService {
     
     // In-memory storage for planning results (in production, this would be a database)
     private final Map<String, Map<String, Object>> planningResults = new HashMap<>();
-    private final List<Map<String, Object>> recentPlans = new ArrayList<>();
-    private final Map<String, List<Map<String, Object>>> detailedResultsStorage = new HashMap<>();
+    private final List<ActivityPlan> recentPlans = new ArrayList<>();
+    private final Map<String, List<Activity>> detailedResultsStorage = new HashMap<>();
     
     // Initialize with sample data
     public ActivityPlannerService() {
@@ -44,16 +46,8 @@ public class ActivityPlannerService {
     }
     
     private void addSamplePlan(String planId, String query, String childAge, String location, String activityType) {
-        Map<String, Object> plan = new HashMap<>();
-        plan.put("id", planId);
-        plan.put("timestamp", getCurrentTimestamp());
-        plan.put("query", query);
-        plan.put("childAge", childAge);
-        plan.put("location", location);
-        plan.put("activityType", activityType);
-        plan.put("status", "completed");
-        plan.put("resultsCount", 3);
-        plan.put("summary", generateSummary(childAge, location, activityType));
+        ActivityPlan plan = new ActivityPlan(planId, getCurrentTimestamp(), query, childAge, location, activityType,
+            "completed", 3, generateSummary(childAge, location, activityType));
         
         recentPlans.add(0, plan); // Add to beginning of list
         if (recentPlans.size() > 10) {
@@ -490,22 +484,14 @@ public class ActivityPlannerService {
     /**
      * Create a new planning session (simulate AI planning)
      */
-    public Map<String, Object> createNewPlanningSession(String query, String childAge, String location, String activityType) {
+    public ActivityPlan createNewPlanningSession(String query, String childAge, String location, String activityType) {
         String planId = "plan_" + System.currentTimeMillis();
         
-        Map<String, Object> plan = new HashMap<>();
-        plan.put("id", planId);
-        plan.put("timestamp", getCurrentTimestamp());
-        plan.put("query", query);
-        plan.put("childAge", childAge);
-        plan.put("location", location);
-        plan.put("activityType", activityType);
-        plan.put("status", "completed");
-        plan.put("resultsCount", 3);
-        plan.put("summary", generateSummary(childAge, location, activityType));
+        ActivityPlan plan = new ActivityPlan(planId, getCurrentTimestamp(), query, childAge, location, activityType,
+            "completed", 3, generateSummary(childAge, location, activityType));
         
         // Generate detailed results for the new planning session
-        List<Map<String, Object>> activities = generateActivitiesForLocation(location, activityType, childAge);
+        List<Activity> activities = generateActivitiesForLocation(location, activityType, childAge);
         detailedResultsStorage.put(planId, activities);
         
         recentPlans.add(0, plan); // Add to beginning of list
@@ -562,27 +548,27 @@ public class ActivityPlannerService {
         // Check if we have detailed results stored for this plan ID
         if (detailedResultsStorage.containsKey(planId)) {
             // Find the plan details from recent plans
-            Map<String, Object> planDetails = recentPlans.stream()
-                .filter(plan -> planId.equals(plan.get("id")))
+            ActivityPlan planDetails = recentPlans.stream()
+                .filter(plan -> planId.equals(plan.getId()))
                 .findFirst()
                 .orElse(null);
             
             if (planDetails != null) {
                 detailedResults.put("planId", planId);
-                detailedResults.put("query", planDetails.get("query"));
-                detailedResults.put("childAge", planDetails.get("childAge"));
-                detailedResults.put("location", planDetails.get("location"));
-                detailedResults.put("activityType", planDetails.get("activityType"));
-                detailedResults.put("timestamp", planDetails.get("timestamp"));
-                detailedResults.put("status", planDetails.get("status"));
+                detailedResults.put("query", planDetails.getQuery());
+                detailedResults.put("childAge", planDetails.getChildAge());
+                detailedResults.put("location", planDetails.getLocation());
+                detailedResults.put("activityType", planDetails.getActivityType());
+                detailedResults.put("timestamp", planDetails.getTimestamp());
+                detailedResults.put("status", planDetails.getStatus());
                 
-                List<Map<String, Object>> activities = detailedResultsStorage.get(planId);
+                List<Activity> activities = detailedResultsStorage.get(planId);
                 detailedResults.put("activities", activities);
-                detailedResults.put("summary", planDetails.get("summary"));
+                detailedResults.put("summary", planDetails.getSummary());
                 detailedResults.put("recommendations", generateRecommendations(
-                    planDetails.get("location").toString(), 
-                    planDetails.get("activityType").toString(), 
-                    planDetails.get("childAge").toString()));
+                    planDetails.getLocation(), 
+                    planDetails.getActivityType(), 
+                    planDetails.getChildAge()));
             } else {
                 // Fallback to hardcoded plans for sample data
                 return getHardcodedDetailedResults(planId);
@@ -609,49 +595,46 @@ public class ActivityPlannerService {
                 detailedResults.put("timestamp", "2024-01-15 10:30:00");
                 detailedResults.put("status", "completed");
                 
-                List<Map<String, Object>> activities = new ArrayList<>();
+                List<Activity> activities = new ArrayList<>();
                 
-                Map<String, Object> activity1 = new HashMap<>();
-                activity1.put("name", "KidZania Singapore");
-                activity1.put("type", "Indoor Playground");
-                activity1.put("ageRange", "3-14 years");
-                activity1.put("description", "Educational role-playing theme park where children can explore different careers");
-                activity1.put("location", "Sentosa Island, Singapore");
-                activity1.put("price", "S$58-68");
-                activity1.put("duration", "4-6 hours");
-                activity1.put("rating", "4.5/5");
-                activity1.put("safety", "Highly supervised, child-safe environment");
-                activity1.put("educationalValue", "High - career exploration and social skills");
-                activity1.put("url", "https://singapore.kidzania.com");
-                activities.add(activity1);
+                activities.add(new Activity(
+                    "KidZania Singapore",
+                    "Indoor Playground",
+                    "3-14 years",
+                    "Educational role-playing theme park where children can explore different careers",
+                    "Sentosa Island, Singapore",
+                    "S$58-68",
+                    "4-6 hours",
+                    "4.5/5",
+                    "Highly supervised, child-safe environment",
+                    "High - career exploration and social skills",
+                    "https://singapore.kidzania.com"));
                 
-                Map<String, Object> activity2 = new HashMap<>();
-                activity2.put("name", "ArtScience Museum");
-                activity2.put("type", "Children's Museum");
-                activity2.put("ageRange", "All ages");
-                activity2.put("description", "Interactive exhibits combining art, science, and technology");
-                activity2.put("location", "Marina Bay Sands, Singapore");
-                activity2.put("price", "S$21-32");
-                activity2.put("duration", "2-3 hours");
-                activity2.put("rating", "4.3/5");
-                activity2.put("safety", "Child-friendly with staff supervision");
-                activity2.put("educationalValue", "High - STEAM learning");
-                activity2.put("url", "https://www.marinabaysands.com/museum");
-                activities.add(activity2);
+                activities.add(new Activity(
+                    "ArtScience Museum",
+                    "Children's Museum",
+                    "All ages",
+                    "Interactive exhibits combining art, science, and technology",
+                    "Marina Bay Sands, Singapore",
+                    "S$21-32",
+                    "2-3 hours",
+                    "4.3/5",
+                    "Child-friendly with staff supervision",
+                    "High - STEAM learning",
+                    "https://www.marinabaysands.com/museum"));
                 
-                Map<String, Object> activity3 = new HashMap<>();
-                activity3.put("name", "The Artground");
-                activity3.put("type", "Art Classes");
-                activity3.put("ageRange", "2-12 years");
-                activity3.put("description", "Creative arts and crafts workshops for children");
-                activity3.put("location", "Goodman Arts Centre, Singapore");
-                activity3.put("price", "S$25-35 per session");
-                activity3.put("duration", "1-2 hours");
-                activity3.put("rating", "4.6/5");
-                activity3.put("safety", "Small class sizes, parent-friendly");
-                activity3.put("educationalValue", "High - creativity and fine motor skills");
-                activity3.put("url", "https://www.theartground.com.sg");
-                activities.add(activity3);
+                activities.add(new Activity(
+                    "The Artground",
+                    "Art Classes",
+                    "2-12 years",
+                    "Creative arts and crafts workshops for children",
+                    "Goodman Arts Centre, Singapore",
+                    "S$25-35 per session",
+                    "1-2 hours",
+                    "4.6/5",
+                    "Small class sizes, parent-friendly",
+                    "High - creativity and fine motor skills",
+                    "https://www.theartground.com.sg"));
                 
                 detailedResults.put("activities", activities);
                 detailedResults.put("summary", "Found 3 excellent indoor activities for your 3-year-old in Singapore. All venues prioritize safety and offer age-appropriate experiences with educational value.");
@@ -671,49 +654,46 @@ public class ActivityPlannerService {
                 detailedResults.put("timestamp", "2024-01-15 09:15:00");
                 detailedResults.put("status", "completed");
                 
-                List<Map<String, Object>> tokyoActivities = new ArrayList<>();
+                List<Activity> tokyoActivities = new ArrayList<>();
                 
-                Map<String, Object> tokyoActivity1 = new HashMap<>();
-                tokyoActivity1.put("name", "National Museum of Emerging Science and Innovation (Miraikan)");
-                tokyoActivity1.put("type", "Science Museum");
-                tokyoActivity1.put("ageRange", "4-12 years");
-                tokyoActivity1.put("description", "Interactive science exhibits and demonstrations perfect for curious minds");
-                tokyoActivity1.put("location", "Odaiba, Tokyo");
-                tokyoActivity1.put("price", "¥630");
-                tokyoActivity1.put("duration", "3-4 hours");
-                tokyoActivity1.put("rating", "4.4/5");
-                tokyoActivity1.put("safety", "Family-friendly with English support");
-                tokyoActivity1.put("educationalValue", "Excellent - hands-on science learning");
-                tokyoActivity1.put("url", "https://www.miraikan.jst.go.jp/en/");
-                tokyoActivities.add(tokyoActivity1);
+                tokyoActivities.add(new Activity(
+                    "National Museum of Emerging Science and Innovation (Miraikan)",
+                    "Science Museum",
+                    "4-12 years",
+                    "Interactive science exhibits and demonstrations perfect for curious minds",
+                    "Odaiba, Tokyo",
+                    "¥630",
+                    "3-4 hours",
+                    "4.4/5",
+                    "Family-friendly with English support",
+                    "Excellent - hands-on science learning",
+                    "https://www.miraikan.jst.go.jp/en/"));
                 
-                Map<String, Object> tokyoActivity2 = new HashMap<>();
-                tokyoActivity2.put("name", "Tokyo Metropolitan Children's Hall");
-                tokyoActivity2.put("type", "Children's Center");
-                tokyoActivity2.put("ageRange", "3-12 years");
-                tokyoActivity2.put("description", "Multi-purpose facility with play areas, workshops, and educational programs");
-                tokyoActivity2.put("location", "Shibuya, Tokyo");
-                tokyoActivity2.put("price", "Free admission");
-                tokyoActivity2.put("duration", "2-3 hours");
-                tokyoActivity2.put("rating", "4.2/5");
-                tokyoActivity2.put("safety", "Supervised activities and safe play areas");
-                tokyoActivity2.put("educationalValue", "High - diverse learning experiences");
-                tokyoActivity2.put("url", "https://www.children.metro.tokyo.lg.jp/");
-                tokyoActivities.add(tokyoActivity2);
+                tokyoActivities.add(new Activity(
+                    "Tokyo Metropolitan Children's Hall",
+                    "Children's Center",
+                    "3-12 years",
+                    "Multi-purpose facility with play areas, workshops, and educational programs",
+                    "Shibuya, Tokyo",
+                    "Free admission",
+                    "2-3 hours",
+                    "4.2/5",
+                    "Supervised activities and safe play areas",
+                    "High - diverse learning experiences",
+                    "https://www.children.metro.tokyo.lg.jp/"));
                 
-                Map<String, Object> tokyoActivity3 = new HashMap<>();
-                tokyoActivity3.put("name", "KidZania Tokyo");
-                tokyoActivity3.put("type", "Educational Theme Park");
-                tokyoActivity3.put("ageRange", "3-15 years");
-                tokyoActivity3.put("description", "Role-playing activities where children can experience different professions");
-                tokyoActivity3.put("location", "Lalaport Toyosu, Tokyo");
-                tokyoActivity3.put("price", "¥3,500-4,000");
-                tokyoActivity3.put("duration", "4-6 hours");
-                tokyoActivity3.put("rating", "4.6/5");
-                tokyoActivity3.put("safety", "Highly supervised, child-safe environment");
-                tokyoActivity3.put("educationalValue", "Excellent - career exploration and life skills");
-                tokyoActivity3.put("url", "https://tokyo.kidzania.com/en");
-                tokyoActivities.add(tokyoActivity3);
+                tokyoActivities.add(new Activity(
+                    "KidZania Tokyo",
+                    "Educational Theme Park",
+                    "3-15 years",
+                    "Role-playing activities where children can experience different professions",
+                    "Lalaport Toyosu, Tokyo",
+                    "¥3,500-4,000",
+                    "4-6 hours",
+                    "4.6/5",
+                    "Highly supervised, child-safe environment",
+                    "Excellent - career exploration and life skills",
+                    "https://tokyo.kidzania.com/en"));
                 
                 detailedResults.put("activities", tokyoActivities);
                 detailedResults.put("summary", "Discovered 3 outstanding educational activities in Tokyo perfect for your 5-year-old. Each venue offers unique learning experiences that combine fun with education.");
@@ -733,49 +713,46 @@ public class ActivityPlannerService {
                 detailedResults.put("timestamp", "2024-01-14 16:45:00");
                 detailedResults.put("status", "completed");
                 
-                List<Map<String, Object>> londonActivities = new ArrayList<>();
+                List<Activity> londonActivities = new ArrayList<>();
                 
-                Map<String, Object> londonActivity1 = new HashMap<>();
-                londonActivity1.put("name", "Hyde Park Playground");
-                londonActivity1.put("type", "Outdoor Playground");
-                londonActivity1.put("ageRange", "1-12 years");
-                londonActivity1.put("description", "Large playground with age-appropriate equipment and open green spaces");
-                londonActivity1.put("location", "Hyde Park, London");
-                londonActivity1.put("price", "Free admission");
-                londonActivity1.put("duration", "1-2 hours");
-                londonActivity1.put("rating", "4.3/5");
-                londonActivity1.put("safety", "Well-maintained equipment with safety surfaces");
-                londonActivity1.put("educationalValue", "Good - physical development and social interaction");
-                londonActivity1.put("url", "https://www.royalparks.org.uk/parks/hyde-park");
-                londonActivities.add(londonActivity1);
+                londonActivities.add(new Activity(
+                    "Hyde Park Playground",
+                    "Outdoor Playground",
+                    "1-12 years",
+                    "Large playground with age-appropriate equipment and open green spaces",
+                    "Hyde Park, London",
+                    "Free admission",
+                    "1-2 hours",
+                    "4.3/5",
+                    "Well-maintained equipment with safety surfaces",
+                    "Good - physical development and social interaction",
+                    "https://www.royalparks.org.uk/parks/hyde-park"));
                 
-                Map<String, Object> londonActivity2 = new HashMap<>();
-                londonActivity2.put("name", "Kensington Gardens Playground");
-                londonActivity2.put("type", "Adventure Playground");
-                londonActivity2.put("ageRange", "2-12 years");
-                londonActivity2.put("description", "Natural adventure playground with climbing structures and water play");
-                londonActivity2.put("location", "Kensington Gardens, London");
-                londonActivity2.put("price", "Free admission");
-                londonActivity2.put("duration", "1-3 hours");
-                londonActivity2.put("rating", "4.5/5");
-                londonActivity2.put("safety", "Supervised areas with natural play elements");
-                londonActivity2.put("educationalValue", "High - nature exploration and creativity");
-                londonActivity2.put("url", "https://www.royalparks.org.uk/parks/kensington-gardens");
-                londonActivities.add(londonActivity2);
+                londonActivities.add(new Activity(
+                    "Kensington Gardens Playground",
+                    "Adventure Playground",
+                    "2-12 years",
+                    "Natural adventure playground with climbing structures and water play",
+                    "Kensington Gardens, London",
+                    "Free admission",
+                    "1-3 hours",
+                    "4.5/5",
+                    "Supervised areas with natural play elements",
+                    "High - nature exploration and creativity",
+                    "https://www.royalparks.org.uk/parks/kensington-gardens"));
                 
-                Map<String, Object> londonActivity3 = new HashMap<>();
-                londonActivity3.put("name", "London Zoo");
-                londonActivity3.put("type", "Outdoor Zoo");
-                londonActivity3.put("ageRange", "All ages");
-                londonActivity3.put("description", "World-famous zoo with interactive exhibits and outdoor animal encounters");
-                londonActivity3.put("location", "Regent's Park, London");
-                londonActivity3.put("price", "£25-35");
-                londonActivity3.put("duration", "3-4 hours");
-                londonActivity3.put("rating", "4.2/5");
-                londonActivity3.put("safety", "Family-friendly with stroller access");
-                londonActivity3.put("educationalValue", "Excellent - wildlife education and conservation awareness");
-                londonActivity3.put("url", "https://www.londonzoo.org/");
-                londonActivities.add(londonActivity3);
+                londonActivities.add(new Activity(
+                    "London Zoo",
+                    "Outdoor Zoo",
+                    "All ages",
+                    "World-famous zoo with interactive exhibits and outdoor animal encounters",
+                    "Regent's Park, London",
+                    "£25-35",
+                    "3-4 hours",
+                    "4.2/5",
+                    "Family-friendly with stroller access",
+                    "Excellent - wildlife education and conservation awareness",
+                    "https://www.londonzoo.org/"));
                 
                 detailedResults.put("activities", londonActivities);
                 detailedResults.put("summary", "Located 3 wonderful outdoor activities in London suitable for your 2-year-old. All venues offer safe, engaging environments perfect for toddler exploration and development.");
@@ -801,29 +778,26 @@ public class ActivityPlannerService {
     /**
      * Generate activities for a specific location, activity type, and child age
      */
-    private List<Map<String, Object>> generateActivitiesForLocation(String location, String activityType, String childAge) {
-        List<Map<String, Object>> activities = new ArrayList<>();
+    private List<Activity> generateActivitiesForLocation(String location, String activityType, String childAge) {
+        List<Activity> activities = new ArrayList<>();
         
         // Generate 3 sample activities based on the location and activity type
         for (int i = 1; i <= 3; i++) {
-            Map<String, Object> activity = new HashMap<>();
-            
             String activityName = generateActivityName(location, activityType, i);
             String activityTypeName = generateActivityTypeName(activityType);
             
-            activity.put("name", activityName);
-            activity.put("type", activityTypeName);
-            activity.put("ageRange", childAge + "-" + (Integer.parseInt(childAge) + 5) + " years");
-            activity.put("description", generateActivityDescription(activityName, activityType));
-            activity.put("location", location);
-            activity.put("price", generatePrice(location));
-            activity.put("duration", generateDuration(activityType));
-            activity.put("rating", generateRating());
-            activity.put("safety", "Child-safe environment with proper supervision");
-            activity.put("educationalValue", generateEducationalValue(activityType));
-            activity.put("url", generateRealUrl(location, activityType, i));
-            
-            activities.add(activity);
+            activities.add(new Activity(
+                activityName,
+                activityTypeName,
+                childAge + "-" + (Integer.parseInt(childAge) + 5) + " years",
+                generateActivityDescription(activityName, activityType),
+                location,
+                generatePrice(location),
+                generateDuration(activityType),
+                generateRating(),
+                "Child-safe environment with proper supervision",
+                generateEducationalValue(activityType),
+                generateRealUrl(location, activityType, i)));
         }
         
         return activities;
@@ -1176,50 +1150,47 @@ public class ActivityPlannerService {
     /**
      * Create hardcoded Singapore activities for plan_001
      */
-    private List<Map<String, Object>> createSingaporeActivities() {
-        List<Map<String, Object>> activities = new ArrayList<>();
-        
-        Map<String, Object> activity1 = new HashMap<>();
-        activity1.put("name", "KidZania Singapore");
-        activity1.put("type", "Indoor Playground");
-        activity1.put("ageRange", "3-14 years");
-        activity1.put("description", "Educational role-playing theme park where children can explore different careers");
-        activity1.put("location", "Sentosa Island, Singapore");
-        activity1.put("price", "S$58-68");
-        activity1.put("duration", "4-6 hours");
-        activity1.put("rating", "4.5/5");
-        activity1.put("safety", "Highly supervised, child-safe environment");
-        activity1.put("educationalValue", "High - career exploration and social skills");
-        activity1.put("url", "https://singapore.kidzania.com");
-        activities.add(activity1);
-        
-        Map<String, Object> activity2 = new HashMap<>();
-        activity2.put("name", "ArtScience Museum");
-        activity2.put("type", "Children's Museum");
-        activity2.put("ageRange", "All ages");
-        activity2.put("description", "Interactive exhibits combining art, science, and technology");
-        activity2.put("location", "Marina Bay Sands, Singapore");
-        activity2.put("price", "S$21-32");
-        activity2.put("duration", "2-3 hours");
-        activity2.put("rating", "4.3/5");
-        activity2.put("safety", "Child-friendly with staff supervision");
-        activity2.put("educationalValue", "High - STEAM learning");
-        activity2.put("url", "https://www.marinabaysands.com/museum");
-        activities.add(activity2);
-        
-        Map<String, Object> activity3 = new HashMap<>();
-        activity3.put("name", "The Artground");
-        activity3.put("type", "Art Classes");
-        activity3.put("ageRange", "2-12 years");
-        activity3.put("description", "Creative arts and crafts workshops for children");
-        activity3.put("location", "Goodman Arts Centre, Singapore");
-        activity3.put("price", "S$25-35 per session");
-        activity3.put("duration", "1-2 hours");
-        activity3.put("rating", "4.6/5");
-        activity3.put("safety", "Small class sizes, parent-friendly");
-        activity3.put("educationalValue", "High - creativity and fine motor skills");
-        activity3.put("url", "https://www.theartground.com.sg");
-        activities.add(activity3);
+    private List<Activity> createSingaporeActivities() {
+        List<Activity> activities = new ArrayList<>();
+        
+        activities.add(new Activity(
+            "KidZania Singapore",
+            "Indoor Playground",
+            "3-14 years",
+            "Educational role-playing theme park where children can explore different careers",
+            "Sentosa Island, Singapore",
+            "S$58-68",
+            "4-6 hours",
+            "4.5/5",
+            "Highly supervised, child-safe environment",
+            "High - career exploration and social skills",
+            "https://singapore.kidzania.com"));
+        
+        activities.add(new Activity(
+            "ArtScience Museum",
+            "Children's Museum",
+            "All ages",
+            "Interactive exhibits combining art, science, and technology",
+            "Marina Bay Sands, Singapore",
+            "S$21-32",
+            "2-3 hours",
+            "4.3/5",
+            "Child-friendly with staff supervision",
+            "High - STEAM learning",
+            "https://www.marinabaysands.com/museum"));
+        
+        activities.add(new Activity(
+            "The Artground",
+            "Art Classes",
+            "2-12 years",
+            "Creative arts and crafts workshops for children",
+            "Goodman Arts Centre, Singapore",
+            "S$25-35 per session",
+            "1-2 hours",
+            "4.6/5",
+            "Small class sizes, parent-friendly",
+            "High - creativity and fine motor skills",
+            "https://www.theartground.com.sg"));
         
         return activities;
     }
@@ -1227,50 +1198,47 @@ public class ActivityPlannerService {
     /**
      * Create hardcoded Tokyo activities for plan_002
      */
-    private List<Map<String, Object>> createTokyoActivities() {
-        List<Map<String, Object>> activities = new ArrayList<>();
-        
-        Map<String, Object> activity1 = new HashMap<>();
-        activity1.put("name", "National Museum of Emerging Science and Innovation (Miraikan)");
-        activity1.put("type", "Science Museum");
-        activity1.put("ageRange", "4-12 years");
-        activity1.put("description", "Interactive science exhibits and demonstrations perfect for curious minds");
-        activity1.put("location", "Odaiba, Tokyo");
-        activity1.put("price", "¥630");
-        activity1.put("duration", "3-4 hours");
-        activity1.put("rating", "4.4/5");
-        activity1.put("safety", "Family-friendly with English support");
-        activity1.put("educationalValue", "Excellent - hands-on science learning");
-        activity1.put("url", "https://www.miraikan.jst.go.jp/en/");
-        activities.add(activity1);
-        
-        Map<String, Object> activity2 = new HashMap<>();
-        activity2.put("name", "Tokyo Metropolitan Children's Hall");
-        activity2.put("type", "Children's Center");
-        activity2.put("ageRange", "3-12 years");
-        activity2.put("description", "Multi-purpose facility with play areas, workshops, and educational programs");
-        activity2.put("location", "Shibuya, Tokyo");
-        activity2.put("price", "Free admission");
-        activity2.put("duration", "2-3 hours");
-        activity2.put("rating", "4.2/5");
-        activity2.put("safety", "Supervised activities and safe play areas");
-        activity2.put("educationalValue", "High - diverse learning experiences");
-        activity2.put("url", "https://www.children.metro.tokyo.lg.jp/");
-        activities.add(activity2);
-        
-        Map<String, Object> activity3 = new HashMap<>();
-        activity3.put("name", "KidZania Tokyo");
-        activity3.put("type", "Educational Theme Park");
-        activity3.put("ageRange", "3-15 years");
-        activity3.put("description", "Role-playing activities where children can experience different professions");
-        activity3.put("location", "Lalaport Toyosu, Tokyo");
-        activity3.put("price", "¥3,500-4,000");
-        activity3.put("duration", "4-6 hours");
-        activity3.put("rating", "4.6/5");
-        activity3.put("safety", "Highly supervised, child-safe environment");
-        activity3.put("educationalValue", "Excellent - career exploration and life skills");
-        activity3.put("url", "https://tokyo.kidzania.com/en");
-        activities.add(activity3);
+    private List<Activity> createTokyoActivities() {
+        List<Activity> activities = new ArrayList<>();
+        
+        activities.add(new Activity(
+            "National Museum of Emerging Science and Innovation (Miraikan)",
+            "Science Museum",
+            "4-12 years",
+            "Interactive science exhibits and demonstrations perfect for curious minds",
+            "Odaiba, Tokyo",
+            "¥630",
+            "3-4 hours",
+            "4.4/5",
+            "Family-friendly with English support",
+            "Excellent - hands-on science learning",
+            "https://www.miraikan.jst.go.jp/en/"));
+        
+        activities.add(new Activity(
+            "Tokyo Metropolitan Children's Hall",
+            "Children's Center",
+            "3-12 years",
+            "Multi-purpose facility with play areas, workshops, and educational programs",
+            "Shibuya, Tokyo",
+            "Free admission",
+            "2-3 hours",
+            "4.2/5",
+            "Supervised activities and safe play areas",
+            "High - diverse learning experiences",
+            "https://www.children.metro.tokyo.lg.jp/"));
+        
+        activities.add(new Activity(
+            "KidZania Tokyo",
+            "Educational Theme Park",
+            "3-15 years",
+            "Role-playing activities where children can experience different professions",
+            "Lalaport Toyosu, Tokyo",
+            "¥3,500-4,000",
+            "4-6 hours",
+            "4.6/5",
+            "Highly supervised, child-safe environment",
+            "Excellent - career exploration and life skills",
+            "https://tokyo.kidzania.com/en"));
         
         return activities;
     }
@@ -1278,50 +1246,47 @@ public class ActivityPlannerService {
     /**
      * Create hardcoded London activities for plan_003
      */
-    private List<Map<String, Object>> createLondonActivities() {
-        List<Map<String, Object>> activities = new ArrayList<>();
-        
-        Map<String, Object> activity1 = new HashMap<>();
-        activity1.put("name", "Hyde Park Playground");
-        activity1.put("type", "Outdoor Playground");
-        activity1.put("ageRange", "1-12 years");
-        activity1.put("description", "Large playground with age-appropriate equipment and open green spaces");
-        activity1.put("location", "Hyde Park, London");
-        activity1.put("price", "Free admission");
-        activity1.put("duration", "1-2 hours");
-        activity1.put("rating", "4.3/5");
-        activity1.put("safety", "Well-maintained equipment with safety surfaces");
-        activity1.put("educationalValue", "Good - physical development and social interaction");
-        activity1.put("url", "https://www.royalparks.org.uk/parks/hyde-park");
-        activities.add(activity1);
-        
-        Map<String, Object> activity2 = new HashMap<>();
-        activity2.put("name", "Kensington Gardens Playground");
-        activity2.put("type", "Adventure Playground");
-        activity2.put("ageRange", "2-12 years");
-        activity2.put("description", "Natural adventure playground with climbing structures and water play");
-        activity2.put("location", "Kensington Gardens, London");
-        activity2.put("price", "Free admission");
-        activity2.put("duration", "1-3 hours");
-        activity2.put("rating", "4.5/5");
-        activity2.put("safety", "Supervised areas with natural play elements");
-        activity2.put("educationalValue", "High - nature exploration and creativity");
-        activity2.put("url", "https://www.royalparks.org.uk/parks/kensington-gardens");
-        activities.add(activity2);
-        
-        Map<String, Object> activity3 = new HashMap<>();
-        activity3.put("name", "London Zoo");
-        activity3.put("type", "Outdoor Zoo");
-        activity3.put("ageRange", "All ages");
-        activity3.put("description", "World-famous zoo with interactive exhibits and outdoor animal encounters");
-        activity3.put("location", "Regent's Park, London");
-        activity3.put("price", "£25-35");
-        activity3.put("duration", "3-4 hours");
-        activity3.put("rating", "4.2/5");
-        activity3.put("safety", "Family-friendly with stroller access");
-        activity3.put("educationalValue", "Excellent - wildlife education and conservation awareness");
-        activity3.put("url", "https://www.londonzoo.org/");
-        activities.add(activity3);
+    private List<Activity> createLondonActivities() {
+        List<Activity> activities = new ArrayList<>();
+        
+        activities.add(new Activity(
+            "Hyde Park Playground",
+            "Outdoor Playground",
+            "1-12 years",
+            "Large playground with age-appropriate equipment and open green spaces",
+            "Hyde Park, London",
+            "Free admission",
+            "1-2 hours",
+            "4.3/5",
+            "Well-maintained equipment with safety surfaces",
+            "Good - physical development and social interaction",
+            "https://www.royalparks.org.uk/parks/hyde-park"));
+        
+        activities.add(new Activity(
+            "Kensington Gardens Playground",
+            "Adventure Playground",
+            "2-12 years",
+            "Natural adventure playground with climbing structures and water play",
+            "Kensington Gardens, London",
+            "Free admission",
+            "1-3 hours",
+            "4.5/5",
+            "Supervised areas with natural play elements",
+            "High - nature exploration and creativity",
+            "https://www.royalparks.org.uk/parks/kensington-gardens"));
+        
+        activities.add(new Activity(
+            "London Zoo",
+            "Outdoor Zoo",
+            "All ages",
+            "World-famous zoo with interactive exhibits and outdoor animal encounters",
+            "Regent's Park, London",
+            "£25-35",
+            "3-4 hours",
+            "4.2/5",
+            "Family-friendly with stroller access",
+            "Excellent - wildlife education and conservation awareness",
+            "https://www.londonzoo.org/"));
         
         return activities;
     }
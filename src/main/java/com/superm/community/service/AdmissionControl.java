@@ -0,0 +1,144 @@
+package com.superm.community.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-route admission limits for the expensive endpoints, configured as
+ * admission.route.&lt;name&gt;.* for each name in admission.routes:
+ * paths (comma-separated Ant patterns), rate-per-second and burst for a token bucket
+ * (rate 0 = unlimited), max-concurrency / min-concurrency and target-latency-ms for an
+ * {@link AimdLimiter} (target 0 = fixed at max-concurrency). Unlisted paths are never limited.
+ */
+@Service
+public class AdmissionControl {
+
+    @Value("${admission.enabled:true}")
+    private boolean enabled;
+
+    @Value("${admission.routes:}")
+    private List<String> routeNames;
+
+    private final Environment environment;
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    private final List<Route> routes = new ArrayList<>();
+
+    public AdmissionControl(Environment environment) {
+        this.environment = environment;
+    }
+
+    @PostConstruct
+    void init() {
+        for (String name : routeNames) {
+            name = name.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            String prefix = "admission.route." + name + ".";
+            String paths = environment.getProperty(prefix + "paths", "");
+            if (paths.isBlank()) {
+                System.err.println("Admission route " + name + " has no paths; ignored");
+                continue;
+            }
+            double rate = environment.getProperty(prefix + "rate-per-second", Double.class, 0d);
+            int burst = environment.getProperty(prefix + "burst", Integer.class, (int) Math.ceil(rate));
+            int maxConcurrency = environment.getProperty(prefix + "max-concurrency", Integer.class, Integer.MAX_VALUE);
+            int minConcurrency = environment.getProperty(prefix + "min-concurrency", Integer.class, 1);
+            long targetLatencyMs = environment.getProperty(prefix + "target-latency-ms", Long.class, 0L);
+
+            List<String> patterns = new ArrayList<>();
+            for (String path : paths.split(",")) {
+                if (!path.isBlank()) {
+                    patterns.add(path.trim());
+                }
+            }
+            routes.add(new Route(name, patterns,
+                rate > 0 ? new TokenBucket(rate, burst) : null,
+                new AimdLimiter(minConcurrency, maxConcurrency, targetLatencyMs)));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled && !routes.isEmpty();
+    }
+
+    /**
+     * The limited route a request path belongs to, or null if it is not limited
+     */
+    public Route match(String path) {
+        for (Route route : routes) {
+            for (String pattern : route.patterns) {
+                if (matcher.match(pattern, path)) {
+                    return route;
+                }
+            }
+        }
+        return null;
+    }
+
+    public List<Route> getRoutes() {
+        return Collections.unmodifiableList(routes);
+    }
+
+    public enum Decision { ADMITTED, RATE_LIMITED, OVERLOADED }
+
+    public static final class Route {
+        private final String name;
+        private final List<String> patterns;
+        private final TokenBucket bucket;
+        private final AimdLimiter limiter;
+        private final AtomicLong admitted = new AtomicLong();
+        private final AtomicLong rateLimited = new AtomicLong();
+        private final AtomicLong overloaded = new AtomicLong();
+
+        Route(String name, List<String> patterns, TokenBucket bucket, AimdLimiter limiter) {
+            this.name = name;
+            this.patterns = patterns;
+            this.bucket = bucket;
+            this.limiter = limiter;
+        }
+
+        /**
+         * Takes a rate token and a concurrency slot; an admitted request must call {@link #release}
+         */
+        public Decision tryAdmit() {
+            if (bucket != null && !bucket.tryAcquire()) {
+                rateLimited.incrementAndGet();
+                return Decision.RATE_LIMITED;
+            }
+            if (!limiter.tryAcquire()) {
+                overloaded.incrementAndGet();
+                return Decision.OVERLOADED;
+            }
+            admitted.incrementAndGet();
+            return Decision.ADMITTED;
+        }
+
+        public void release(long latencyNanos) {
+            limiter.release(latencyNanos);
+        }
+
+        /**
+         * Whole seconds until a rate-limited request is worth retrying
+         */
+        public long retryAfterSeconds() {
+            long nanos = bucket == null ? 0 : bucket.nanosUntilToken();
+            return Math.max(1, (nanos + 999_999_999L) / 1_000_000_000L);
+        }
+
+        public String getName() { return name; }
+        public int getLimit() { return limiter.getLimit(); }
+        public int getInFlight() { return limiter.getInFlight(); }
+        public long getAdmitted() { return admitted.get(); }
+        public long getRateLimited() { return rateLimited.get(); }
+        public long getOverloaded() { return overloaded.get(); }
+    }
+}
@@ -0,0 +1,60 @@
+package com.superm.community.service;
+
+/**
+ * Concurrency limit that adapts to observed latency (additive increase, multiplicative decrease).
+ * Each request finishing under the target latency while the limit is at least half used grows
+ * the limit by 1/limit, i.e. about one slot per limit's worth of requests. A request over the
+ * target shrinks it by the backoff ratio, at most once per target interval so a burst of slow
+ * completions counts as one congestion signal. A target of 0 keeps the limit fixed.
+ */
+public final class AimdLimiter {
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetNanos;
+    private double limit;
+    private int inFlight;
+    private long lastDecreaseNanos;
+
+    public AimdLimiter(int minLimit, int maxLimit, long targetLatencyMs) {
+        this.maxLimit = Math.max(1, maxLimit);
+        this.minLimit = Math.max(1, Math.min(minLimit, this.maxLimit));
+        this.targetNanos = targetLatencyMs * 1_000_000L;
+        this.limit = this.maxLimit;
+        this.lastDecreaseNanos = System.nanoTime();
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    public synchronized void release(long latencyNanos) {
+        inFlight--;
+        if (targetNanos <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (latencyNanos > targetNanos) {
+            if (now - lastDecreaseNanos >= targetNanos) {
+                limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+                lastDecreaseNanos = now;
+            }
+        } else if (inFlight + 1 >= limit / 2) {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+}
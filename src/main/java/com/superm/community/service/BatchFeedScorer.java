@@ -0,0 +1,98 @@
+package com.superm.community.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Scores and orders feed candidates in bulk over primitive columns.
+ * Uses the JDK Vector API when built with -Pvector and the incubator module is present,
+ * a scalar loop otherwise.
+ */
+@Service
+public class BatchFeedScorer {
+
+    // Runs this short are insertion-sorted before merging
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    @Value("${feed.scoring.vector-enabled:true}")
+    private boolean vectorEnabled;
+
+    private FeedScoringKernel kernel = new ScalarFeedScoringKernel();
+
+    @PostConstruct
+    void selectKernel() {
+        if (vectorEnabled) {
+            try {
+                kernel = (FeedScoringKernel) Class.forName("com.superm.community.service.VectorFeedScoringKernel")
+                    .getDeclaredConstructor()
+                    .newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Built without -Pvector, or JVM started without --add-modules jdk.incubator.vector
+                kernel = new ScalarFeedScoringKernel();
+            }
+        }
+        System.out.println("Feed scoring kernel: " + kernel.name());
+    }
+
+    public String getKernelName() {
+        return kernel.name();
+    }
+
+    /**
+     * Score every candidate in the batch into the scores array
+     */
+    public void score(FeedColumns columns, ScoringParameters params, double[] scores) {
+        kernel.score(columns, params, scores);
+    }
+
+    /**
+     * Candidate indices ordered by descending score; ties keep their input order.
+     * A stable merge sort of primitive indices keyed on the full double scores, so the order is
+     * exactly the one a comparison sort on (score, index) gives, with no boxing.
+     */
+    static int[] rankDescending(double[] scores, int size) {
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        mergeSort(order, new int[size], 0, size, scores);
+        return order;
+    }
+
+    private static void mergeSort(int[] order, int[] buffer, int from, int to, double[] scores) {
+        if (to - from <= INSERTION_SORT_THRESHOLD) {
+            for (int i = from + 1; i < to; i++) {
+                int index = order[i];
+                int j = i;
+                while (j > from && ranksBefore(index, order[j - 1], scores)) {
+                    order[j] = order[j - 1];
+                    j--;
+                }
+                order[j] = index;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(order, buffer, from, mid, scores);
+        mergeSort(order, buffer, mid, to, scores);
+        if (!ranksBefore(order[mid], order[mid - 1], scores)) {
+            return; // halves already in order
+        }
+        System.arraycopy(order, from, buffer, from, to - from);
+        int left = from;
+        int right = mid;
+        for (int i = from; i < to; i++) {
+            // Taking from the left half on ties keeps the sort stable
+            if (right >= to || (left < mid && !ranksBefore(buffer[right], buffer[left], scores))) {
+                order[i] = buffer[left++];
+            } else {
+                order[i] = buffer[right++];
+            }
+        }
+    }
+
+    private static boolean ranksBefore(int a, int b, double[] scores) {
+        return Double.compare(scores[a], scores[b]) > 0;
+    }
+}
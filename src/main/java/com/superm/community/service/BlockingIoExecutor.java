@@ -0,0 +1,91 @@
+package com.superm.community.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Where slow blocking calls (OpenAI HTTP posts, subprocess waits) run.
+ * By default they run inline on the request thread, as before. With
+ * app.virtual-threads.enabled=true they move off Tomcat's pool: onto a virtual thread per
+ * task when the JVM has them (Java 21+), otherwise onto a dedicated bounded platform pool.
+ * Controllers return the future, so the servlet thread is released while the call blocks.
+ */
+@Service
+public class BlockingIoExecutor {
+
+    @Value("${app.virtual-threads.enabled:false}")
+    private boolean offloadEnabled;
+
+    // Fallback pool when virtual threads are unavailable
+    @Value("${app.blocking-io.pool-size:64}")
+    private int poolSize;
+
+    @Value("${app.blocking-io.queue-capacity:1024}")
+    private int queueCapacity;
+
+    private ExecutorService executor;
+    private String mode = "inline";
+
+    @PostConstruct
+    void start() {
+        if (!offloadEnabled) {
+            return;
+        }
+        try {
+            executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            mode = "virtual";
+        } catch (ReflectiveOperationException e) {
+            // Pre-21 JVM: a platform pool separate from Tomcat's still keeps page loads responsive
+            AtomicInteger counter = new AtomicInteger();
+            executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread thread = new Thread(r, "blocking-io-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            mode = "platform-pool";
+        }
+        System.out.println("Blocking I/O mode: " + mode);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    /**
+     * Run a blocking call. Inline mode completes the future before returning.
+     * A saturated fallback pool fails the future with RejectedExecutionException.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> call) {
+        if (executor == null) {
+            try {
+                return CompletableFuture.completedFuture(call.get());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        try {
+            return CompletableFuture.supplyAsync(call, executor);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
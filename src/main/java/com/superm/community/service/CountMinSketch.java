@@ -0,0 +1,86 @@
+package com.superm.community.service;
+
+import java.util.Arrays;
+
+/**
+ * Count-Min Sketch: fixed-memory frequency estimates for an unbounded key space.
+ * Estimates never undercount; with width w and depth d the overcount is at most
+ * 2N/w with probability 1 - 2^-d, where N is the total weight added.
+ * Two sketches with the same dimensions merge by adding their tables cell by cell.
+ * Not thread-safe; callers synchronize.
+ */
+public final class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final int mask;
+    private final long[][] table;
+    private long totalCount;
+
+    /**
+     * @param depth number of hash rows
+     * @param width counters per row, rounded up to a power of two
+     */
+    public CountMinSketch(int depth, int width) {
+        if (depth <= 0 || width <= 0) {
+            throw new IllegalArgumentException("Sketch dimensions must be positive");
+        }
+        this.depth = depth;
+        this.width = Integer.highestOneBit(Math.max(1, width - 1)) << 1;
+        this.mask = this.width - 1;
+        this.table = new long[depth][this.width];
+    }
+
+    public void add(String key, long count) {
+        long hash = Hashing.hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int row = 0; row < depth; row++) {
+            // Kirsch-Mitzenmacher: row hashes derived from two halves of one 64-bit hash
+            table[row][(h1 + row * h2) & mask] += count;
+        }
+        totalCount += count;
+    }
+
+    public long estimate(String key) {
+        long hash = Hashing.hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, table[row][(h1 + row * h2) & mask]);
+        }
+        return min;
+    }
+
+    public void merge(CountMinSketch other) {
+        if (other.depth != depth || other.width != width) {
+            throw new IllegalArgumentException("Cannot merge sketches with different dimensions");
+        }
+        for (int row = 0; row < depth; row++) {
+            long[] target = table[row];
+            long[] source = other.table[row];
+            for (int i = 0; i < width; i++) {
+                target[i] += source[i];
+            }
+        }
+        totalCount += other.totalCount;
+    }
+
+    public CountMinSketch copy() {
+        CountMinSketch copy = new CountMinSketch(depth, width);
+        copy.merge(this);
+        return copy;
+    }
+
+    public void clear() {
+        for (long[] row : table) {
+            Arrays.fill(row, 0L);
+        }
+        totalCount = 0;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+}
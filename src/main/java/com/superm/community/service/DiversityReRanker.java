@@ -0,0 +1,119 @@
+package com.superm.community.service;
+
+import com.superm.community.model.Post;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming diversity re-ranker.
+ * Walks the ranked list once and keeps the same community (and author) from reappearing
+ * inside a sliding window. Posts that would break a constraint wait in a bounded deferred
+ * queue and are placed as soon as they fit; if the queue overflows, the oldest deferred
+ * post is placed anyway, so the cost stays O(n * (queue + window)) and the feed never
+ * needs a second sort.
+ */
+public class DiversityReRanker {
+
+    private final int communityWindow;
+    private final int authorWindow;
+    private final int maxDeferred;
+
+    /**
+     * @param communityWindow no community appears twice within this many consecutive posts
+     * @param authorWindow    no author appears twice within this many consecutive posts
+     * @param maxDeferred     how many posts may wait for a slot before constraints are relaxed
+     */
+    public DiversityReRanker(int communityWindow, int authorWindow, int maxDeferred) {
+        this.communityWindow = Math.max(1, communityWindow);
+        this.authorWindow = Math.max(1, authorWindow);
+        this.maxDeferred = Math.max(1, maxDeferred);
+    }
+
+    public List<Post> rerank(List<Post> rankedPosts) {
+        List<Post> result = new ArrayList<>(rankedPosts.size());
+        List<Post> deferred = new ArrayList<>(maxDeferred);
+        Window communities = new Window(communityWindow - 1);
+        Window authors = new Window(authorWindow - 1);
+
+        for (Post post : rankedPosts) {
+            // Deferred posts outrank the incoming one, so give them the slot first
+            emitEligibleDeferred(deferred, result, communities, authors);
+
+            if (fits(post, communities, authors)) {
+                emit(post, result, communities, authors);
+                continue;
+            }
+            if (deferred.size() == maxDeferred) {
+                // Queue is full: relax the constraint for the longest-waiting post
+                emit(deferred.remove(0), result, communities, authors);
+                emitEligibleDeferred(deferred, result, communities, authors);
+                if (fits(post, communities, authors)) {
+                    emit(post, result, communities, authors);
+                    continue;
+                }
+            }
+            deferred.add(post);
+        }
+
+        // Tail: place what still fits, otherwise fall back to rank order
+        while (!deferred.isEmpty()) {
+            int index = firstFitting(deferred, communities, authors);
+            emit(deferred.remove(index < 0 ? 0 : index), result, communities, authors);
+        }
+        return result;
+    }
+
+    private void emitEligibleDeferred(List<Post> deferred, List<Post> result, Window communities, Window authors) {
+        int index;
+        while ((index = firstFitting(deferred, communities, authors)) >= 0) {
+            emit(deferred.remove(index), result, communities, authors);
+        }
+    }
+
+    private int firstFitting(List<Post> deferred, Window communities, Window authors) {
+        for (int i = 0; i < deferred.size(); i++) {
+            if (fits(deferred.get(i), communities, authors)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean fits(Post post, Window communities, Window authors) {
+        return !communities.contains(post.getCommunityId()) && !authors.contains(post.getAuthorName());
+    }
+
+    private void emit(Post post, List<Post> result, Window communities, Window authors) {
+        result.add(post);
+        communities.push(post.getCommunityId());
+        authors.push(post.getAuthorName());
+    }
+
+    /**
+     * Fixed-size ring of the most recently emitted keys
+     */
+    private static final class Window {
+        private final String[] keys;
+        private int next;
+
+        Window(int size) {
+            this.keys = new String[size];
+        }
+
+        boolean contains(String key) {
+            for (String k : keys) {
+                if (k != null && k.equals(key)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void push(String key) {
+            if (keys.length == 0) return;
+            keys[next] = key;
+            next = (next + 1) % keys.length;
+        }
+    }
+}
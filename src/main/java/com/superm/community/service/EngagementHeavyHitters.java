@@ -0,0 +1,133 @@
+package com.superm.community.service;
+
+import com.superm.community.model.Post;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rolling top-N of the most engaged posts and communities.
+ * Engagement lands in the current hour's heavy-hitter summary; the last 24 hourly summaries
+ * form a ring. A background task merges the ones inside the window every few seconds and
+ * publishes the ranking, so queries on the feed path read a list without locking or merging.
+ * Memory is fixed no matter how much cold content exists, since nothing keeps an exact
+ * counter per post.
+ */
+@Service
+public class EngagementHeavyHitters {
+
+    public static final int WINDOW_HOURS = 24;
+
+    private static final int TRACKED_KEYS = 64;
+    private static final int SKETCH_DEPTH = 4;
+    private static final int SKETCH_WIDTH = 1024;
+    private static final long MILLIS_PER_HOUR = 3_600_000L;
+
+    @Value("${heavy-hitters.refresh-interval-ms:5000}")
+    private long refreshIntervalMs;
+
+    private final StaticDataService dataService;
+    private final Ring posts = new Ring();
+    private final Ring communities = new Ring();
+    private ScheduledExecutorService refresher;
+
+    public EngagementHeavyHitters(StaticDataService dataService) {
+        this.dataService = dataService;
+    }
+
+    @PostConstruct
+    void start() {
+        refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "heavy-hitters-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleWithFixedDelay(this::refresh, refreshIntervalMs, refreshIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        refresher.shutdownNow();
+    }
+
+    private void refresh() {
+        long hour = System.currentTimeMillis() / MILLIS_PER_HOUR;
+        posts.publish(hour);
+        communities.publish(hour);
+    }
+
+    public void record(String postId, int weight) {
+        long hour = System.currentTimeMillis() / MILLIS_PER_HOUR;
+        posts.add(postId, weight, hour);
+        Post post = dataService.findPostById(postId);
+        if (post != null) {
+            communities.add(post.getCommunityId(), weight, hour);
+        }
+    }
+
+    /**
+     * Most engaged post ids over the window, heaviest first
+     */
+    public List<HeavyHitterSketch.Entry> getTopPosts(int n) {
+        return posts.top(n);
+    }
+
+    /**
+     * Most engaged community ids over the window, heaviest first
+     */
+    public List<HeavyHitterSketch.Entry> getTopCommunities(int n) {
+        return communities.top(n);
+    }
+
+    /**
+     * One summary per hour of the window, recycled as the hour comes round again
+     */
+    private static final class Ring {
+        private final HeavyHitterSketch[] slots = new HeavyHitterSketch[WINDOW_HOURS];
+        private final long[] slotHours = new long[WINDOW_HOURS];
+        private volatile List<HeavyHitterSketch.Entry> ranking = List.of();
+
+        Ring() {
+            for (int i = 0; i < WINDOW_HOURS; i++) {
+                slots[i] = new HeavyHitterSketch(TRACKED_KEYS, SKETCH_DEPTH, SKETCH_WIDTH);
+                slotHours[i] = -1;
+            }
+        }
+
+        synchronized void add(String key, int weight, long hour) {
+            int index = (int) (hour % WINDOW_HOURS);
+            if (slotHours[index] != hour) {
+                slots[index].clear();
+                slotHours[index] = hour;
+            }
+            slots[index].add(key, weight);
+        }
+
+        /**
+         * Merges every slot still inside the window and publishes its ranking
+         */
+        void publish(long hour) {
+            HeavyHitterSketch merged = new HeavyHitterSketch(TRACKED_KEYS, SKETCH_DEPTH, SKETCH_WIDTH);
+            synchronized (this) {
+                for (int i = 0; i < WINDOW_HOURS; i++) {
+                    long age = hour - slotHours[i];
+                    if (slotHours[i] >= 0 && age >= 0 && age < WINDOW_HOURS) {
+                        merged.merge(slots[i]);
+                    }
+                }
+            }
+            ranking = List.copyOf(merged.top(TRACKED_KEYS));
+        }
+
+        List<HeavyHitterSketch.Entry> top(int n) {
+            List<HeavyHitterSketch.Entry> current = ranking;
+            return current.size() <= n ? current : current.subList(0, n);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.superm.community.service;
+
+import com.superm.community.model.EngagementEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous engagement ingestion pipeline.
+ * Request threads only enqueue into a bounded lock-free ring buffer; a single background
+ * consumer drains it, coalesces duplicate events and applies them to the
+ * PersonalizationService in batches.
+ */
+@Service
+public class EngagementIngestionService {
+
+    @Value("${engagement.ingest.buffer-capacity:16384}")
+    private int bufferCapacity;
+
+    @Value("${engagement.ingest.batch-size:512}")
+    private int batchSize;
+
+    @Value("${engagement.ingest.idle-park-ms:20}")
+    private long idleParkMs;
+
+    private final PersonalizationService personalizationService;
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong applied = new AtomicLong();
+
+    private EngagementRingBuffer<EngagementEvent> buffer;
+    private Thread consumer;
+    private volatile boolean running;
+
+    public EngagementIngestionService(PersonalizationService personalizationService) {
+        this.personalizationService = personalizationService;
+    }
+
+    @PostConstruct
+    void start() {
+        buffer = new EngagementRingBuffer<>(bufferCapacity);
+        running = true;
+        consumer = new Thread(this::consumeLoop, "engagement-ingest");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(consumer);
+        consumer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    /**
+     * Enqueue an engagement event without blocking.
+     * Returns false when the buffer is full and the event was shed.
+     */
+    public boolean submit(EngagementEvent event) {
+        if (buffer.offer(event)) {
+            accepted.incrementAndGet();
+            return true;
+        }
+        dropped.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Pipeline counters for monitoring
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("accepted", accepted.get());
+        stats.put("dropped", dropped.get());
+        stats.put("applied", applied.get());
+        stats.put("capacity", buffer.capacity());
+        return stats;
+    }
+
+    private void consumeLoop() {
+        EngagementEvent[] scratch = new EngagementEvent[batchSize];
+        Set<EngagementEvent> batch = new LinkedHashSet<>();
+        long idleParkNanos = TimeUnit.MILLISECONDS.toNanos(idleParkMs);
+
+        while (true) {
+            int drained = buffer.drainTo(scratch, batchSize);
+            if (drained == 0) {
+                if (!running) {
+                    break; // shut down only once everything queued has been applied
+                }
+                LockSupport.parkNanos(idleParkNanos);
+                continue;
+            }
+
+            // Coalesce duplicates within the batch
+            for (int i = 0; i < drained; i++) {
+                batch.add(scratch[i]);
+                scratch[i] = null;
+            }
+
+            try {
+                personalizationService.applyEngagementBatch(batch);
+                applied.addAndGet(batch.size());
+            } catch (RuntimeException e) {
+                System.err.println("Error applying engagement batch: " + e.getMessage());
+            }
+            batch.clear();
+        }
+    }
+}
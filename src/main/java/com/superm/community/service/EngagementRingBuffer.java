@@ -0,0 +1,78 @@
+package com.superm.community.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free multi-producer / single-consumer ring buffer.
+ * Each slot carries a sequence number so producers claim slots with a single CAS
+ * and the consumer never blocks them (Vyukov-style bounded queue).
+ */
+class EngagementRingBuffer<T> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<T> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+
+    // Only ever touched by the single consumer thread
+    private long head;
+
+    EngagementRingBuffer(int requestedCapacity) {
+        int size = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.capacity = size;
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Try to enqueue an element; returns false immediately when the buffer is full
+     */
+    boolean offer(T element) {
+        long pos = tail.get();
+        for (;;) {
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    slots.lazySet(index, element);
+                    sequences.lazySet(index, pos + 1); // publish to the consumer
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                return false; // consumer hasn't freed this slot yet - full
+            } else {
+                pos = tail.get(); // another producer took the slot
+            }
+        }
+    }
+
+    /**
+     * Drain up to max published elements into the target array (consumer thread only)
+     */
+    int drainTo(T[] target, int max) {
+        int count = 0;
+        while (count < max) {
+            int index = (int) (head & mask);
+            if (sequences.get(index) != head + 1) {
+                break; // next slot not published yet
+            }
+            target[count++] = slots.get(index);
+            slots.lazySet(index, null);
+            sequences.lazySet(index, head + capacity); // hand the slot back to producers
+            head++;
+        }
+        return count;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+}
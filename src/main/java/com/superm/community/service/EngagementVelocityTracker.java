@@ -0,0 +1,157 @@
+package com.superm.community.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-post sliding-window engagement counters for real-time trending.
+ * Each post owns a ring of 60 minute buckets and 24 hour buckets in primitive arrays, so
+ * memory per post is constant. A bucket packs its epoch (high 32 bits) and count (low 32 bits)
+ * into one long, which lets updates roll a stale bucket over and increment it with a single CAS.
+ * Only existing posts are tracked, and a background sweep drops posts with no engagement in
+ * the last day, so the number of windows stays bounded by the recently engaged catalog.
+ */
+@Service
+public class EngagementVelocityTracker {
+
+    public static final int VIEW_WEIGHT = 1;
+    public static final int LIKE_WEIGHT = 3;
+
+    private static final int MINUTE_BUCKETS = 60;
+    private static final int HOUR_BUCKETS = 24;
+    private static final long MILLIS_PER_MINUTE = 60_000L;
+    private static final long MILLIS_PER_HOUR = 3_600_000L;
+    private static final long COUNT_MASK = 0xFFFFFFFFL;
+
+    @Value("${velocity.sweep-interval-ms:600000}")
+    private long sweepIntervalMs;
+
+    private final StaticDataService data;
+    private final Map<String, PostWindow> windows = new ConcurrentHashMap<>();
+    private ScheduledExecutorService sweeper;
+
+    public EngagementVelocityTracker(StaticDataService data) {
+        this.data = data;
+    }
+
+    @PostConstruct
+    void start() {
+        sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "velocity-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(() -> sweep(System.currentTimeMillis()), sweepIntervalMs, sweepIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        sweeper.shutdownNow();
+    }
+
+    public void recordView(String postId) {
+        record(postId, VIEW_WEIGHT, System.currentTimeMillis());
+    }
+
+    public void recordLike(String postId) {
+        record(postId, LIKE_WEIGHT, System.currentTimeMillis());
+    }
+
+    void record(String postId, int weight, long nowMillis) {
+        if (data.findPostById(postId) == null) {
+            return;
+        }
+        for (;;) {
+            PostWindow window = windows.computeIfAbsent(postId, k -> new PostWindow());
+            add(window.minutes, nowMillis / MILLIS_PER_MINUTE, MINUTE_BUCKETS, weight);
+            add(window.hours, nowMillis / MILLIS_PER_HOUR, HOUR_BUCKETS, weight);
+            // A sweep that removed the window before seeing this update: record into its replacement
+            if (windows.get(postId) == window) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Drops the windows of posts whose newest hour bucket has aged out of the day
+     */
+    void sweep(long nowMillis) {
+        long oldestLiveHour = nowMillis / MILLIS_PER_HOUR - HOUR_BUCKETS + 1;
+        for (String postId : windows.keySet()) {
+            windows.computeIfPresent(postId, (k, window) -> newestEpoch(window.hours) < oldestLiveHour ? null : window);
+        }
+    }
+
+    /**
+     * Engagement velocity: weighted events in the last hour plus the hourly average over the last day.
+     * Zero for posts nobody has engaged with recently.
+     */
+    public double getVelocity(String postId) {
+        return getVelocity(postId, System.currentTimeMillis());
+    }
+
+    double getVelocity(String postId, long nowMillis) {
+        PostWindow window = windows.get(postId);
+        if (window == null) {
+            return 0.0;
+        }
+        long lastHour = sum(window.minutes, nowMillis / MILLIS_PER_MINUTE, MINUTE_BUCKETS);
+        long lastDay = sum(window.hours, nowMillis / MILLIS_PER_HOUR, HOUR_BUCKETS);
+        return lastHour + lastDay / (double) HOUR_BUCKETS;
+    }
+
+    /**
+     * Weighted engagement over the last 60 minutes
+     */
+    public long getLastHourCount(String postId) {
+        PostWindow window = windows.get(postId);
+        return window == null ? 0 : sum(window.minutes, System.currentTimeMillis() / MILLIS_PER_MINUTE, MINUTE_BUCKETS);
+    }
+
+    private static void add(AtomicLongArray buckets, long epoch, int size, int weight) {
+        int index = (int) (epoch % size);
+        for (;;) {
+            long current = buckets.get(index);
+            long updated = (current >>> 32) == epoch
+                ? current + weight                 // same bucket period: increment
+                : (epoch << 32) | weight;          // stale period: roll the bucket over
+            if (buckets.compareAndSet(index, current, updated)) {
+                return;
+            }
+        }
+    }
+
+    private static long newestEpoch(AtomicLongArray buckets) {
+        long newest = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            newest = Math.max(newest, buckets.get(i) >>> 32);
+        }
+        return newest;
+    }
+
+    private static long sum(AtomicLongArray buckets, long nowEpoch, int size) {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            long bucket = buckets.get(i);
+            long age = nowEpoch - (bucket >>> 32);
+            if (age >= 0 && age < size) {
+                total += bucket & COUNT_MASK;
+            }
+        }
+        return total;
+    }
+
+    private static final class PostWindow {
+        final AtomicLongArray minutes = new AtomicLongArray(MINUTE_BUCKETS);
+        final AtomicLongArray hours = new AtomicLongArray(HOUR_BUCKETS);
+    }
+}
@@ -0,0 +1,44 @@
+package com.superm.community.service;
+
+import com.superm.community.model.Post;
+
+/**
+ * Struct-of-arrays view of a feed candidate batch.
+ * Each ranking input is a primitive column so scoring kernels can stream over them.
+ */
+public final class FeedColumns {
+
+    final Post[] posts;
+    final double[] topic;      // topic relevance component, 0..1
+    final double[] likes;
+    final double[] comments;
+    final double[] ageHours;   // whole hours since the post was created
+    final double[] time;       // time-of-day relevance component, 0..1
+    final double[] personal;   // personal history component, 0..1
+    private int size;
+
+    FeedColumns(int capacity) {
+        this.posts = new Post[capacity];
+        this.topic = new double[capacity];
+        this.likes = new double[capacity];
+        this.comments = new double[capacity];
+        this.ageHours = new double[capacity];
+        this.time = new double[capacity];
+        this.personal = new double[capacity];
+    }
+
+    void add(Post post, double topicScore, double ageInHours, double timeScore, double personalScore) {
+        int i = size++;
+        posts[i] = post;
+        topic[i] = topicScore;
+        likes[i] = post.getLikes();
+        comments[i] = post.getComments();
+        ageHours[i] = ageInHours;
+        time[i] = timeScore;
+        personal[i] = personalScore;
+    }
+
+    public int size() {
+        return size;
+    }
+}
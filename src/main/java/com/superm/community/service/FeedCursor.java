@@ -0,0 +1,55 @@
+package com.superm.community.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque pagination cursor: the ranking snapshot being paged and the offset into a tab.
+ */
+public final class FeedCursor {
+
+    private final long snapshotId;
+    private final int offset;
+
+    public FeedCursor(long snapshotId, int offset) {
+        this.snapshotId = snapshotId;
+        this.offset = offset;
+    }
+
+    public long getSnapshotId() {
+        return snapshotId;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public String encode() {
+        String raw = Long.toString(snapshotId, 36) + "." + Integer.toString(offset, 36);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Parse a cursor from a client; null or blank means the first page, garbage is rejected
+     */
+    public static FeedCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return new FeedCursor(0L, 0);
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            int dot = raw.indexOf('.');
+            if (dot < 0) {
+                throw new IllegalArgumentException("Malformed feed cursor");
+            }
+            int offset = Integer.parseInt(raw.substring(dot + 1), 36);
+            if (offset < 0) {
+                throw new IllegalArgumentException("Malformed feed cursor");
+            }
+            return new FeedCursor(Long.parseLong(raw.substring(0, dot), 36), offset);
+        } catch (IllegalArgumentException e) {
+            // Also covers NumberFormatException and bad Base64
+            throw new IllegalArgumentException("Malformed feed cursor", e);
+        }
+    }
+}
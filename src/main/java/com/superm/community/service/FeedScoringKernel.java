@@ -0,0 +1,11 @@
+package com.superm.community.service;
+
+/**
+ * Scores a batch of feed candidates held in primitive columns.
+ */
+interface FeedScoringKernel {
+
+    void score(FeedColumns columns, ScoringParameters params, double[] scores);
+
+    String name();
+}
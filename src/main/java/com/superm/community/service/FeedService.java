@@ -0,0 +1,212 @@
+package com.superm.community.service;
+
+import com.superm.community.model.Community;
+import com.superm.community.model.FeedSummary;
+import com.superm.community.model.FeedView;
+import com.superm.community.model.Post;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Builds the personalized feed page and pre-warms it.
+ * Login and signup start the computation on a small bounded executor; the /feed request
+ * that follows the redirect joins the in-flight result instead of ranking again, so ranking
+ * latency overlaps the redirect round trip. A full queue simply skips the pre-warm.
+ * The last view served to each user is kept as a snapshot so paginated API calls page
+ * through one stable ranking instead of re-ranking on every scroll. Snapshots are capped at
+ * the least recently used user, and expired ones are swept in the background.
+ */
+@Service
+public class FeedService {
+
+    @Value("${feed.prewarm.threads:2}")
+    private int threads;
+
+    @Value("${feed.prewarm.queue-capacity:64}")
+    private int queueCapacity;
+
+    // A pre-warmed view older than this is stale and computed again
+    @Value("${feed.prewarm.max-age-ms:30000}")
+    private long maxAgeMs;
+
+    // How long /feed waits for an in-flight pre-warm before computing inline
+    @Value("${feed.prewarm.join-timeout-ms:2000}")
+    private long joinTimeoutMs;
+
+    // How long a served feed stays valid for pagination cursors
+    @Value("${feed.snapshot.max-age-ms:600000}")
+    private long snapshotMaxAgeMs;
+
+    // Above this many users, the least recently paged snapshot is dropped
+    @Value("${feed.snapshot.max-users:10000}")
+    private int maxSnapshots;
+
+    @Value("${feed.snapshot.sweep-interval-ms:60000}")
+    private long snapshotSweepIntervalMs;
+
+    private final StaticDataService data;
+    private final PersonalizationService personalizationService;
+    private final Map<String, CompletableFuture<FeedView>> inFlight = new ConcurrentHashMap<>();
+    // Access-ordered, guarded by its own monitor
+    private final Map<String, FeedView> snapshots = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, FeedView> eldest) {
+            return size() > maxSnapshots;
+        }
+    };
+    private final AtomicLong snapshotIds = new AtomicLong(System.currentTimeMillis());
+
+    private ThreadPoolExecutor executor;
+    private ScheduledExecutorService sweeper;
+
+    public FeedService(StaticDataService data, PersonalizationService personalizationService) {
+        this.data = data;
+        this.personalizationService = personalizationService;
+    }
+
+    @PostConstruct
+    void start() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), r -> {
+                Thread thread = new Thread(r, "feed-prewarm-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "feed-snapshot-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweepSnapshots, snapshotSweepIntervalMs, snapshotSweepIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        sweeper.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Start computing the user's feed in the background
+     */
+    public void prewarm(String userId, String[] userTopics) {
+        if (inFlight.size() >= queueCapacity) {
+            // Drop finished pre-warms whose user never came back for them
+            inFlight.values().removeIf(this::isStale);
+        }
+        try {
+            CompletableFuture<FeedView> future = CompletableFuture.supplyAsync(() -> buildFeed(userId, userTopics), executor);
+            inFlight.put(userId, future);
+        } catch (RejectedExecutionException e) {
+            // Executor saturated: the feed request will compute inline
+        }
+    }
+
+    /**
+     * The user's feed, from a matching pre-warm if one is in flight or fresh, otherwise computed now
+     */
+    public FeedView getFeed(String userId, String[] userTopics) {
+        CompletableFuture<FeedView> future = inFlight.remove(userId);
+        if (future != null) {
+            try {
+                FeedView view = future.get(joinTimeoutMs, TimeUnit.MILLISECONDS);
+                if (view.isFor(userTopics) && System.currentTimeMillis() - view.getCreatedAtMillis() <= maxAgeMs) {
+                    return remember(userId, view);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException | TimeoutException e) {
+                // Fall through and compute inline
+            }
+        }
+        return remember(userId, buildFeed(userId, userTopics));
+    }
+
+    /**
+     * The ranking snapshot a pagination cursor refers to. If it has expired or been replaced,
+     * the current snapshot (or a fresh feed) is returned and the caller continues from there.
+     */
+    public FeedView getSnapshot(String userId, String[] userTopics, long snapshotId) {
+        FeedView view;
+        synchronized (snapshots) {
+            view = snapshots.get(userId);
+        }
+        if (view != null && view.isFor(userTopics)
+                && System.currentTimeMillis() - view.getCreatedAtMillis() <= snapshotMaxAgeMs
+                && (snapshotId == 0L || view.getId() == snapshotId)) {
+            return view;
+        }
+        return getFeed(userId, userTopics);
+    }
+
+    private FeedView remember(String userId, FeedView view) {
+        synchronized (snapshots) {
+            snapshots.put(userId, view);
+        }
+        return view;
+    }
+
+    private void sweepSnapshots() {
+        long cutoff = System.currentTimeMillis() - snapshotMaxAgeMs;
+        synchronized (snapshots) {
+            snapshots.values().removeIf(snapshot -> snapshot.getCreatedAtMillis() < cutoff);
+        }
+    }
+
+    /**
+     * Forget the user's snapshot, e.g. on logout
+     */
+    public void discardSnapshot(String userId) {
+        synchronized (snapshots) {
+            snapshots.remove(userId);
+        }
+        inFlight.remove(userId);
+    }
+
+    private boolean isStale(CompletableFuture<FeedView> future) {
+        if (!future.isDone()) {
+            return false;
+        }
+        if (future.isCompletedExceptionally()) {
+            return true;
+        }
+        FeedView view = future.getNow(null);
+        return view == null || System.currentTimeMillis() - view.getCreatedAtMillis() > maxAgeMs;
+    }
+
+    private FeedView buildFeed(String userId, String[] userTopics) {
+        // Get recommended communities based on topics
+        List<Community> recommendedCommunities = data.getRecommendedCommunities(TopicVocabulary.maskOf(userTopics));
+        List<Community> allCommunities = data.getAllCommunities();
+
+        // Get AI-personalized feed
+        List<Post> personalizedPosts = personalizationService.getPersonalizedFeed(
+            userId, data.getAllPosts(), userTopics, allCommunities
+        );
+
+        // Categories and feed insights in one pass over the ranked list
+        FeedSummary feedSummary = personalizationService.summarizeFeed(personalizedPosts);
+        Map<String, Object> userInsights = personalizationService.getUserFeedInsights(userId, userTopics);
+
+        return new FeedView(snapshotIds.incrementAndGet(), userTopics, recommendedCommunities, allCommunities, personalizedPosts, feedSummary, userInsights);
+    }
+}
@@ -0,0 +1,176 @@
+package com.superm.community.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sessions in a local directory, one small file per session in {@link SessionCodec} form,
+ * with the encoded bytes also kept in memory. The cookie carries only the signed session id.
+ * Sessions survive restarts; sharing them between nodes needs the directory on shared storage.
+ * A background sweep drops sessions idle longer than the timeout from memory and disk.
+ */
+@Service
+@ConditionalOnProperty(name = "app.session.store", havingValue = "file")
+public class FileSessionStore implements SessionStore {
+
+    @Value("${app.session.dir:data/sessions}")
+    private String directory;
+
+    @Value("${app.session.idle-timeout-ms:1800000}")
+    private long idleTimeoutMillis;
+
+    @Value("${app.session.sweep-interval-ms:60000}")
+    private long sweepIntervalMs;
+
+    private final SessionSigner signer;
+    private final Map<Long, Resident> residents = new ConcurrentHashMap<>();
+    private Path root;
+    private ScheduledExecutorService sweeper;
+
+    public FileSessionStore(SessionSigner signer) {
+        this.signer = signer;
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        root = Paths.get(directory);
+        Files.createDirectories(root);
+        sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "session-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweepQuietly, sweepIntervalMs, sweepIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        sweeper.shutdownNow();
+    }
+
+    @Override
+    public SessionRecord load(String token) {
+        byte[] idBytes = signer.verify(token);
+        if (idBytes == null || idBytes.length != Long.BYTES) {
+            return null;
+        }
+        long id = ByteBuffer.wrap(idBytes).getLong();
+        Resident resident = residents.computeIfAbsent(id, this::read);
+        if (resident == null) {
+            return null;
+        }
+        if (isIdle(resident.lastAccessMillis, System.currentTimeMillis())) {
+            remove(id);
+            return null;
+        }
+        try {
+            // Decoded per request, so concurrent requests never share a mutable record
+            return SessionCodec.decode(resident.encoded);
+        } catch (IllegalArgumentException e) {
+            remove(id);
+            return null;
+        }
+    }
+
+    @Override
+    public String save(SessionRecord record) {
+        byte[] encoded = SessionCodec.encode(record);
+        residents.put(record.getId(), new Resident(encoded, record.getLastAccessMillis()));
+        Path file = fileOf(record.getId());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp-" + Thread.currentThread().getId());
+        try {
+            Files.write(temp, encoded);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // Still served from memory; only a restart would lose it
+            System.err.println("Session write failed for " + file + ": " + e.getMessage());
+        }
+        return signer.sign(ByteBuffer.allocate(Long.BYTES).putLong(record.getId()).array());
+    }
+
+    @Override
+    public void delete(String token) {
+        byte[] idBytes = signer.verify(token);
+        if (idBytes != null && idBytes.length == Long.BYTES) {
+            remove(ByteBuffer.wrap(idBytes).getLong());
+        }
+    }
+
+    @Override
+    public long getIdleTimeoutMillis() {
+        return idleTimeoutMillis;
+    }
+
+    private Resident read(long id) {
+        try {
+            byte[] encoded = Files.readAllBytes(fileOf(id));
+            return new Resident(encoded, SessionCodec.decode(encoded).getLastAccessMillis());
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Unreadable session file for " + Long.toHexString(id) + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void remove(long id) {
+        residents.remove(id);
+        try {
+            Files.deleteIfExists(fileOf(id));
+        } catch (IOException e) {
+            System.err.println("Session delete failed: " + e.getMessage());
+        }
+    }
+
+    private boolean isIdle(long lastAccessMillis, long now) {
+        return now - lastAccessMillis > idleTimeoutMillis;
+    }
+
+    private Path fileOf(long id) {
+        return root.resolve(Long.toHexString(id) + ".ses");
+    }
+
+    private void sweepQuietly() {
+        try {
+            long now = System.currentTimeMillis();
+            residents.entrySet().removeIf(entry -> isIdle(entry.getValue().lastAccessMillis, now));
+            // Files are rewritten on every touch, so their modification time is the last access
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(root, "*.ses")) {
+                for (Path file : files) {
+                    if (isIdle(Files.getLastModifiedTime(file).toMillis(), now)) {
+                        Files.deleteIfExists(file);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("Session sweep failed: " + e.getMessage());
+        }
+    }
+
+    private static final class Resident {
+        final byte[] encoded;
+        final long lastAccessMillis;
+
+        Resident(byte[] encoded, long lastAccessMillis) {
+            this.encoded = encoded;
+            this.lastAccessMillis = lastAccessMillis;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.superm.community.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pre-rendered template fragments, keyed by name and tagged with the version of the data
+ * they were rendered from. A lookup with a different version is a miss, so fragments are
+ * never invalidated explicitly: bumping the data version is enough.
+ * Bounded LRU; filled by the cache:key template attribute (FragmentCacheDialect).
+ */
+@Service
+public class FragmentCache {
+
+    private final Map<String, Entry> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public FragmentCache(@Value("${fragment.cache.max-entries:5000}") int maxEntries) {
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Rendered markup for key at version, or null if absent or rendered from other data
+     */
+    public String get(String key, String version) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry != null && entry.version.equals(version)) {
+            hits.incrementAndGet();
+            return entry.html;
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    public void put(String key, String version, String html) {
+        synchronized (entries) {
+            entries.put(key, new Entry(version, html));
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    private static final class Entry {
+        final String version;
+        final String html;
+
+        Entry(String version, String html) {
+            this.version = version;
+            this.html = html;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.superm.community.service;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Stable 64-bit string hash shared by the sketches and experiment bucketing.
+ * Unlike String.hashCode it is well mixed in every bit and the same on every JVM,
+ * so persisted or cross-node assignments never shift.
+ */
+final class Hashing {
+
+    private Hashing() {
+    }
+
+    // FNV-1a over UTF-8 bytes, finished with the murmur3 64-bit mixer
+    static long hash64(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,148 @@
+package com.superm.community.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Space-Saving top-k tracker backed by a Count-Min Sketch.
+ * At most {@code capacity} keys are monitored; when a new key arrives and the table is full,
+ * the smallest counter is evicted and the newcomer inherits its count, as in Space-Saving.
+ * The sketch bounds that inherited count from above, which keeps cold keys that sneak in
+ * late from ranking above genuinely hot ones. Memory is fixed regardless of key cardinality,
+ * and two summaries merge into one that covers both periods.
+ * Not thread-safe; callers synchronize.
+ */
+public final class HeavyHitterSketch {
+
+    private final int capacity;
+    private final CountMinSketch sketch;
+    private final Map<String, Long> counters;
+
+    public HeavyHitterSketch(int capacity, int sketchDepth, int sketchWidth) {
+        this(capacity, new CountMinSketch(sketchDepth, sketchWidth));
+    }
+
+    private HeavyHitterSketch(int capacity, CountMinSketch sketch) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.sketch = sketch;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    public void add(String key, long count) {
+        sketch.add(key, count);
+        Long current = counters.get(key);
+        if (current != null) {
+            counters.put(key, current + count);
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(key, count);
+            return;
+        }
+
+        // Table full: the newcomer takes over the minimum counter
+        String minKey = null;
+        long minCount = Long.MAX_VALUE;
+        for (Map.Entry<String, Long> entry : counters.entrySet()) {
+            if (entry.getValue() < minCount) {
+                minKey = entry.getKey();
+                minCount = entry.getValue();
+            }
+        }
+        counters.remove(minKey);
+        counters.put(key, Math.min(minCount + count, sketch.estimate(key)));
+    }
+
+    /**
+     * Estimated count for any key, monitored or not; never an undercount
+     */
+    public long estimate(String key) {
+        Long monitored = counters.get(key);
+        long estimate = sketch.estimate(key);
+        return monitored == null ? estimate : Math.min(monitored, estimate);
+    }
+
+    /**
+     * Fold another period into this one. Monitored keys from both sides are re-estimated
+     * against the merged sketch and the largest {@code capacity} of them are kept.
+     */
+    public void merge(HeavyHitterSketch other) {
+        // A key absent from a full table may have been evicted with at most its minimum count;
+        // absent from a table that never filled up means it was never seen there
+        long thisFloor = unmonitoredBound();
+        long otherFloor = other.unmonitoredBound();
+        sketch.merge(other.sketch);
+
+        Set<String> keys = new HashSet<>(counters.keySet());
+        keys.addAll(other.counters.keySet());
+        List<Entry> candidates = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            long count = counters.getOrDefault(key, thisFloor) + other.counters.getOrDefault(key, otherFloor);
+            candidates.add(new Entry(key, Math.min(count, sketch.estimate(key))));
+        }
+        candidates.sort((a, b) -> Long.compare(b.count, a.count));
+
+        counters.clear();
+        for (int i = 0; i < candidates.size() && i < capacity; i++) {
+            counters.put(candidates.get(i).key, candidates.get(i).count);
+        }
+    }
+
+    private long unmonitoredBound() {
+        if (counters.size() < capacity) {
+            return 0L;
+        }
+        long min = Long.MAX_VALUE;
+        for (long count : counters.values()) {
+            min = Math.min(min, count);
+        }
+        return min;
+    }
+
+    /**
+     * The n heaviest monitored keys, heaviest first
+     */
+    public List<Entry> top(int n) {
+        List<Entry> entries = new ArrayList<>(counters.size());
+        for (Map.Entry<String, Long> entry : counters.entrySet()) {
+            entries.add(new Entry(entry.getKey(), Math.min(entry.getValue(), sketch.estimate(entry.getKey()))));
+        }
+        entries.sort((a, b) -> Long.compare(b.count, a.count));
+        return entries.size() > n ? new ArrayList<>(entries.subList(0, n)) : entries;
+    }
+
+    public HeavyHitterSketch copy() {
+        HeavyHitterSketch copy = new HeavyHitterSketch(capacity, sketch.copy());
+        copy.counters.putAll(counters);
+        return copy;
+    }
+
+    public void clear() {
+        sketch.clear();
+        counters.clear();
+    }
+
+    public long getTotalCount() {
+        return sketch.getTotalCount();
+    }
+
+    public static final class Entry {
+        private final String key;
+        private final long count;
+
+        public Entry(String key, long count) {
+            this.key = key;
+            this.count = count;
+        }
+
+        public String getKey() { return key; }
+        public long getCount() { return count; }
+    }
+}
@@ -0,0 +1,32 @@
+package com.superm.community.service;
+
+/**
+ * Weighted-sum ranking over topic, engagement, recency, time-of-day and personal components.
+ * With ScoringParameters.DEFAULT this is the original feed heuristic.
+ */
+public class HeuristicRankingModel implements RankingModel {
+
+    private final String name;
+    private final ScoringParameters parameters;
+    private final BatchFeedScorer feedScorer;
+
+    public HeuristicRankingModel(String name, ScoringParameters parameters, BatchFeedScorer feedScorer) {
+        this.name = name;
+        this.parameters = parameters;
+        this.feedScorer = feedScorer;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    public ScoringParameters getParameters() {
+        return parameters;
+    }
+
+    @Override
+    public void score(FeedColumns columns, double[] scores) {
+        feedScorer.score(columns, parameters, scores);
+    }
+}
@@ -0,0 +1,148 @@
+package com.superm.community.service;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from non-negative int keys to int counts.
+ * Two parallel primitive arrays with linear probing; no boxing and no entry objects,
+ * so a sparse co-occurrence row costs about 8 bytes per neighbour. Not thread-safe.
+ */
+final class IntIntHashMap {
+
+    private static final int EMPTY = 0;
+
+    private int[] keys;   // key + 1, so that 0 marks an empty slot
+    private int[] values;
+    private int size;
+
+    IntIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        keys = new int[capacity];
+        values = new int[capacity];
+    }
+
+    void addTo(int key, int delta) {
+        int slot = findSlot(keys, key + 1);
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key + 1;
+            values[slot] = delta;
+            if (++size * 4 > keys.length * 3) {
+                resize();
+            }
+        } else {
+            values[slot] += delta;
+        }
+    }
+
+    int get(int key) {
+        int slot = findSlot(keys, key + 1);
+        return keys[slot] == EMPTY ? 0 : values[slot];
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Slot count to iterate with {@link #keyAt} and {@link #valueAt}
+     */
+    int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * Key stored in the slot, or -1 if the slot is empty
+     */
+    int keyAt(int slot) {
+        return keys[slot] - 1;
+    }
+
+    int valueAt(int slot) {
+        return values[slot];
+    }
+
+    /**
+     * Removes the key if present; later entries of its probe run are shifted back into the gap
+     */
+    void remove(int key) {
+        int mask = keys.length - 1;
+        int gap = findSlot(keys, key + 1);
+        if (keys[gap] == EMPTY) {
+            return;
+        }
+        keys[gap] = EMPTY;
+        size--;
+        for (int slot = (gap + 1) & mask; keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+            int home = mix(keys[slot]) & mask;
+            // Move the entry back only if the gap lies on its probe path from home
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                keys[gap] = keys[slot];
+                values[gap] = values[slot];
+                keys[slot] = EMPTY;
+                gap = slot;
+            }
+        }
+    }
+
+    /**
+     * Keeps exactly the targetSize entries with the highest counts, ties going to the smaller
+     * key, and returns the keys that were dropped
+     */
+    int[] shrinkTo(int targetSize) {
+        if (size <= targetSize) {
+            return new int[0];
+        }
+        // Count in the high half, inverted key in the low half: ascending order is weakest first
+        long[] ranked = new long[size];
+        int n = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                ranked[n++] = ((long) values[i] << 32) | (Integer.MAX_VALUE - keys[i]);
+            }
+        }
+        Arrays.sort(ranked);
+
+        int[] droppedKeys = new int[size - targetSize];
+        keys = new int[keys.length];
+        values = new int[values.length];
+        for (int i = 0; i < droppedKeys.length; i++) {
+            droppedKeys[i] = Integer.MAX_VALUE - (int) ranked[i] - 1;
+        }
+        for (int i = droppedKeys.length; i < ranked.length; i++) {
+            int storedKey = Integer.MAX_VALUE - (int) ranked[i];
+            int slot = findSlot(keys, storedKey);
+            keys[slot] = storedKey;
+            values[slot] = (int) (ranked[i] >>> 32);
+        }
+        size = targetSize;
+        return droppedKeys;
+    }
+
+    private static int findSlot(int[] keys, int storedKey) {
+        int mask = keys.length - 1;
+        int slot = mix(storedKey) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != storedKey) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = findSlot(keys, oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,364 @@
+package com.superm.community.service;
+
+import com.superm.community.model.EngagementEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Incremental item-to-item collaborative filtering.
+ * A background thread folds each new user/post engagement into sparse co-occurrence rows
+ * (posts engaged by the same user), then recomputes the cosine top-k neighbours of the posts
+ * it touched. Feed requests only read the published neighbour lists, so the cost at request
+ * time is O(seed posts x k) no matter how many users or posts exist.
+ * Memory is bounded too: user histories are evicted when idle and least recently used beyond
+ * a cap, co-occurrence rows keep only their strongest pairs, and beyond a cap the least recently
+ * engaged post makes room for a new one. Only posts that exist are tracked.
+ */
+@Service
+public class ItemSimilarityModel {
+
+    // Recent engagements per user that new ones are paired with
+    private static final int USER_HISTORY = 50;
+    private static final int BUFFER_CAPACITY = 16384;
+    private static final int BATCH_SIZE = 512;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long SWEEP_INTERVAL_MS = 60_000;
+
+    // A viewed post says less about taste than a liked one
+    private static final double VIEW_SEED_WEIGHT = 0.5;
+
+    @Value("${recommend.item-similarity.neighbours:20}")
+    private int neighbourCount;
+
+    @Value("${recommend.item-similarity.max-users:50000}")
+    private int maxUsers;
+
+    @Value("${recommend.item-similarity.user-idle-ms:1800000}")
+    private long userIdleMs;
+
+    @Value("${recommend.item-similarity.max-items:100000}")
+    private int maxItems;
+
+    // A row over this many pairs is cut back to the half with the highest counts
+    @Value("${recommend.item-similarity.max-row-size:2048}")
+    private int maxRowSize;
+
+    private final StaticDataService data;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Map<String, Neighbours> published = new ConcurrentHashMap<>();
+
+    // Model state below is only touched by the updater thread
+    // Access-ordered: the least recently engaged post comes first and is evicted first
+    private final Map<String, Integer> itemIndex = new LinkedHashMap<>(256, 0.75f, true);
+    private final List<String> itemIds = new ArrayList<>();
+    private final List<IntIntHashMap> coOccurrence = new ArrayList<>();
+    private int[] itemCounts = new int[64];
+    // Bumped when an index is reused, so user histories can tell the old post from the new one
+    private int[] itemGenerations = new int[64];
+    private final Map<String, UserHistory> histories = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, UserHistory> eldest) {
+            return size() > maxUsers;
+        }
+    };
+    private long lastSweepMillis = System.currentTimeMillis();
+
+    private EngagementRingBuffer<EngagementEvent> buffer;
+    private Thread updater;
+    private volatile boolean running;
+
+    public ItemSimilarityModel(StaticDataService data) {
+        this.data = data;
+    }
+
+    @PostConstruct
+    void start() {
+        buffer = new EngagementRingBuffer<>(BUFFER_CAPACITY);
+        running = true;
+        updater = new Thread(this::updateLoop, "item-similarity");
+        updater.setDaemon(true);
+        updater.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(updater);
+        updater.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    /**
+     * Queue a first-time engagement for the model; never blocks the caller
+     */
+    public void submit(EngagementEvent event) {
+        if (!buffer.offer(event)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Collaborative affinity of candidate posts to the user's liked and viewed posts:
+     * the summed similarity of each candidate to the seeds it neighbours
+     */
+    public Map<String, Double> getAffinities(Collection<String> likedPosts, Collection<String> viewedPosts) {
+        Map<String, Double> affinities = new HashMap<>();
+        addAffinities(affinities, likedPosts, 1.0);
+        addAffinities(affinities, viewedPosts, VIEW_SEED_WEIGHT);
+        return affinities;
+    }
+
+    private void addAffinities(Map<String, Double> affinities, Collection<String> seeds, double weight) {
+        for (String seed : seeds) {
+            Neighbours neighbours = published.get(seed);
+            if (neighbours == null) {
+                continue;
+            }
+            for (int i = 0; i < neighbours.postIds.length; i++) {
+                affinities.merge(neighbours.postIds[i], neighbours.similarities[i] * weight, Double::sum);
+            }
+        }
+    }
+
+    private void updateLoop() {
+        EngagementEvent[] scratch = new EngagementEvent[BATCH_SIZE];
+        Set<Integer> dirty = new HashSet<>();
+
+        while (true) {
+            int drained = buffer.drainTo(scratch, BATCH_SIZE);
+            evictIdleUsers();
+            if (drained == 0) {
+                if (!running) {
+                    break;
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            try {
+                for (int i = 0; i < drained; i++) {
+                    apply(scratch[i], dirty);
+                    scratch[i] = null;
+                }
+                // Only posts whose rows changed in this batch need new neighbour lists
+                for (int item : dirty) {
+                    publishNeighbours(item);
+                }
+            } catch (RuntimeException e) {
+                System.err.println("Error updating item similarity: " + e.getMessage());
+            }
+            dirty.clear();
+        }
+    }
+
+    private void apply(EngagementEvent event, Set<Integer> dirty) {
+        int item = indexOf(event.getPostId(), dirty);
+        if (item < 0) {
+            dropped.incrementAndGet();
+            return;
+        }
+        UserHistory history = histories.computeIfAbsent(event.getUserId(), k -> new UserHistory());
+        history.lastEventMillis = System.currentTimeMillis();
+        if (history.contains(item, itemGenerations[item])) {
+            return; // a like after a view is the same pairing
+        }
+
+        itemCounts[item]++;
+        IntIntHashMap row = coOccurrence.get(item);
+        for (int i = 0; i < history.size; i++) {
+            int other = history.items[i];
+            if (history.generations[i] != itemGenerations[other]) {
+                continue; // that post was evicted and its index reused
+            }
+            row.addTo(other, 1);
+            coOccurrence.get(other).addTo(item, 1);
+            trimRow(other, dirty);
+            dirty.add(other);
+        }
+        trimRow(item, dirty);
+        history.add(item, itemGenerations[item]);
+        dirty.add(item);
+    }
+
+    /**
+     * Cuts an oversized row back to its strongest pairs and drops the mirrored entries,
+     * so the co-occurrence matrix stays symmetric
+     */
+    private void trimRow(int item, Set<Integer> dirty) {
+        IntIntHashMap row = coOccurrence.get(item);
+        if (row.size() <= maxRowSize) {
+            return;
+        }
+        for (int other : row.shrinkTo(maxRowSize / 2)) {
+            coOccurrence.get(other).remove(item);
+            dirty.add(other);
+        }
+    }
+
+    /**
+     * Drops histories idle past the cutoff; access order puts them at the front
+     */
+    private void evictIdleUsers() {
+        long now = System.currentTimeMillis();
+        if (now - lastSweepMillis < SWEEP_INTERVAL_MS) {
+            return;
+        }
+        lastSweepMillis = now;
+        long cutoff = now - userIdleMs;
+        Iterator<UserHistory> eldestFirst = histories.values().iterator();
+        while (eldestFirst.hasNext() && eldestFirst.next().lastEventMillis < cutoff) {
+            eldestFirst.remove();
+        }
+    }
+
+    /**
+     * Index of the post, or -1 if no such post exists. A new post past maxItems takes over
+     * the index of the least recently engaged one.
+     */
+    private int indexOf(String postId, Set<Integer> dirty) {
+        Integer index = itemIndex.get(postId);
+        if (index != null) {
+            return index;
+        }
+        if (data.findPostById(postId) == null) {
+            return -1;
+        }
+        int created;
+        if (itemIds.size() < maxItems) {
+            created = itemIds.size();
+            itemIds.add(postId);
+            coOccurrence.add(new IntIntHashMap(8));
+            if (created == itemCounts.length) {
+                itemCounts = Arrays.copyOf(itemCounts, created * 2);
+                itemGenerations = Arrays.copyOf(itemGenerations, created * 2);
+            }
+        } else {
+            created = evictColdestItem(dirty);
+            itemIds.set(created, postId);
+            coOccurrence.set(created, new IntIntHashMap(8));
+        }
+        itemIndex.put(postId, created);
+        return created;
+    }
+
+    /**
+     * Forgets the least recently engaged post and returns its now free index
+     */
+    private int evictColdestItem(Set<Integer> dirty) {
+        Iterator<Map.Entry<String, Integer>> eldestFirst = itemIndex.entrySet().iterator();
+        Map.Entry<String, Integer> coldest = eldestFirst.next();
+        eldestFirst.remove();
+        int item = coldest.getValue();
+        published.remove(coldest.getKey());
+
+        IntIntHashMap row = coOccurrence.get(item);
+        for (int slot = 0; slot < row.capacity(); slot++) {
+            int other = row.keyAt(slot);
+            if (other >= 0) {
+                coOccurrence.get(other).remove(item);
+                dirty.add(other);
+            }
+        }
+        itemCounts[item] = 0;
+        itemGenerations[item]++;
+        dirty.remove(item);
+        return item;
+    }
+
+    /**
+     * Cosine top-k over the item's co-occurrence row, published as one immutable snapshot
+     */
+    private void publishNeighbours(int item) {
+        IntIntHashMap row = coOccurrence.get(item);
+        int k = Math.min(neighbourCount, row.size());
+        if (k == 0) {
+            published.remove(itemIds.get(item));
+            return;
+        }
+        int[] best = new int[k];
+        double[] bestScores = new double[k];
+        int filled = 0;
+
+        for (int slot = 0; slot < row.capacity(); slot++) {
+            int other = row.keyAt(slot);
+            if (other < 0) {
+                continue;
+            }
+            double similarity = row.valueAt(slot) / Math.sqrt((double) itemCounts[item] * itemCounts[other]);
+            if (filled == k && similarity <= bestScores[k - 1]) {
+                continue;
+            }
+            // Insertion into the small sorted top-k arrays
+            int pos = filled < k ? filled++ : k - 1;
+            while (pos > 0 && bestScores[pos - 1] < similarity) {
+                best[pos] = best[pos - 1];
+                bestScores[pos] = bestScores[pos - 1];
+                pos--;
+            }
+            best[pos] = other;
+            bestScores[pos] = similarity;
+        }
+
+        String[] postIds = new String[filled];
+        for (int i = 0; i < filled; i++) {
+            postIds[i] = itemIds.get(best[i]);
+        }
+        published.put(itemIds.get(item), new Neighbours(postIds, Arrays.copyOf(bestScores, filled)));
+    }
+
+    private static final class Neighbours {
+        final String[] postIds;
+        final double[] similarities;
+
+        Neighbours(String[] postIds, double[] similarities) {
+            this.postIds = postIds;
+            this.similarities = similarities;
+        }
+    }
+
+    /**
+     * Ring of a user's most recent distinct engagements
+     */
+    private static final class UserHistory {
+        final int[] items = new int[USER_HISTORY];
+        final int[] generations = new int[USER_HISTORY];
+        int size;
+        int next;
+        long lastEventMillis;
+
+        boolean contains(int item, int generation) {
+            for (int i = 0; i < size; i++) {
+                if (items[i] == item && generations[i] == generation) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void add(int item, int generation) {
+            items[next] = item;
+            generations[next] = generation;
+            next = (next + 1) % USER_HISTORY;
+            size = Math.min(size + 1, USER_HISTORY);
+        }
+    }
+}
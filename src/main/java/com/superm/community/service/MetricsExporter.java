@@ -0,0 +1,95 @@
+package com.superm.community.service;
+
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Prometheus text exposition (format 0.0.4) of the request and method timers, admission
+ * control counters and fragment cache hits, served at /admin/metrics/prometheus.
+ * Latencies are summaries in seconds with 0.5, 0.99 and 0.999 quantiles.
+ */
+@Service
+public class MetricsExporter {
+
+    private static final double[] QUANTILES = {0.5, 0.99, 0.999};
+
+    private final MetricsRegistry metrics;
+    private final AdmissionControl admission;
+    private final FragmentCache fragmentCache;
+
+    public MetricsExporter(MetricsRegistry metrics, AdmissionControl admission, FragmentCache fragmentCache) {
+        this.metrics = metrics;
+        this.admission = admission;
+        this.fragmentCache = fragmentCache;
+    }
+
+    public String prometheusText() {
+        StringBuilder out = new StringBuilder(8192);
+        writeTimers(out, "superm_request_duration_seconds", "HTTP request latency by route", "route", metrics.getRouteTimers());
+        writeTimers(out, "superm_method_duration_seconds", "Service method latency", "method", metrics.getMethodTimers());
+
+        header(out, "superm_request_errors_total", "counter", "Requests answered with a 5xx status");
+        for (MetricsRegistry.Timer timer : metrics.getRouteTimers()) {
+            sample(out, "superm_request_errors_total", "route", timer.getName(), null, timer.getErrors());
+        }
+
+        header(out, "superm_admission_requests_total", "counter", "Admission decisions per limited route");
+        for (AdmissionControl.Route route : admission.getRoutes()) {
+            sample(out, "superm_admission_requests_total", "route", route.getName(), "outcome=\"admitted\"", route.getAdmitted());
+            sample(out, "superm_admission_requests_total", "route", route.getName(), "outcome=\"rate_limited\"", route.getRateLimited());
+            sample(out, "superm_admission_requests_total", "route", route.getName(), "outcome=\"overloaded\"", route.getOverloaded());
+        }
+        header(out, "superm_admission_concurrency_limit", "gauge", "Current adaptive concurrency limit");
+        for (AdmissionControl.Route route : admission.getRoutes()) {
+            sample(out, "superm_admission_concurrency_limit", "route", route.getName(), null, route.getLimit());
+        }
+        header(out, "superm_admission_in_flight", "gauge", "Requests holding a concurrency slot");
+        for (AdmissionControl.Route route : admission.getRoutes()) {
+            sample(out, "superm_admission_in_flight", "route", route.getName(), null, route.getInFlight());
+        }
+
+        header(out, "superm_fragment_cache_requests_total", "counter", "Fragment cache lookups");
+        out.append("superm_fragment_cache_requests_total{result=\"hit\"} ").append(fragmentCache.getHitCount()).append('\n');
+        out.append("superm_fragment_cache_requests_total{result=\"miss\"} ").append(fragmentCache.getMissCount()).append('\n');
+        return out.toString();
+    }
+
+    private static void writeTimers(StringBuilder out, String metric, String help, String label, List<MetricsRegistry.Timer> timers) {
+        header(out, metric, "summary", help);
+        for (MetricsRegistry.Timer timer : timers) {
+            LatencyHistogram histogram = timer.getHistogram();
+            for (double quantile : QUANTILES) {
+                sample(out, metric, label, timer.getName(), "quantile=\"" + quantile + "\"",
+                    histogram.getPercentileMillis(quantile * 100) / 1000.0);
+            }
+            sample(out, metric + "_sum", label, timer.getName(), null,
+                histogram.getMeanMillis() * histogram.getCount() / 1000.0);
+            sample(out, metric + "_count", label, timer.getName(), null, histogram.getCount());
+        }
+    }
+
+    private static void header(StringBuilder out, String metric, String type, String help) {
+        out.append("# HELP ").append(metric).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(metric).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String metric, String label, String value, String extraLabel, double number) {
+        out.append(metric).append('{').append(label).append("=\"").append(escape(value)).append('"');
+        if (extraLabel != null) {
+            out.append(',').append(extraLabel);
+        }
+        out.append("} ");
+        if (number == Math.rint(number) && Math.abs(number) < 1e15) {
+            out.append((long) number);
+        } else {
+            out.append(String.format(Locale.ROOT, "%.6g", number));
+        }
+        out.append('\n');
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
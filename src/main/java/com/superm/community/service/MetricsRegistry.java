@@ -0,0 +1,165 @@
+package com.superm.community.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Named latency timers for routes and key service methods, shown on /admin/metrics.
+ * Recording is allocation-free: callers keep the {@link Timer} from {@link #timer} in a field,
+ * and {@link #routeTimer} finds an existing route timer with map lookups only.
+ * Latencies are cumulative since startup; throughput is also sampled every 10 seconds
+ * for a rate over the last minute.
+ */
+@Service
+public class MetricsRegistry {
+
+    private static final String[] METHODS = {"GET", "POST", "PUT", "DELETE", "PATCH", "HEAD", "OPTIONS", "OTHER"};
+    private static final long SAMPLE_INTERVAL_MS = 10_000;
+    private static final int WINDOW_SAMPLES = 6; // one minute
+
+    private final ConcurrentHashMap<String, Timer> timers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Timer[]> routeTimers = new ConcurrentHashMap<>();
+    private final long startedMillis = System.currentTimeMillis();
+    private ScheduledExecutorService sampler;
+
+    @PostConstruct
+    void start() {
+        sampler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "metrics-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sampler.scheduleAtFixedRate(() -> timers.values().forEach(Timer::sample),
+            SAMPLE_INTERVAL_MS, SAMPLE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        sampler.shutdownNow();
+    }
+
+    /**
+     * Timer for a service method or other named operation
+     */
+    public Timer timer(String name) {
+        Timer timer = timers.get(name);
+        return timer != null ? timer : timers.computeIfAbsent(name, n -> new Timer(n, false));
+    }
+
+    /**
+     * Timer for a handler mapping pattern and HTTP method, e.g. "GET /community/{id}"
+     */
+    public Timer routeTimer(String method, String pattern) {
+        Timer[] byMethod = routeTimers.get(pattern);
+        if (byMethod == null) {
+            byMethod = routeTimers.computeIfAbsent(pattern, p -> new Timer[METHODS.length]);
+        }
+        int index = methodIndex(method);
+        Timer timer = byMethod[index];
+        if (timer == null) {
+            // Racing writers store the same instance, since computeIfAbsent is idempotent
+            timer = timers.computeIfAbsent(METHODS[index] + " " + pattern, n -> new Timer(n, true));
+            byMethod[index] = timer;
+        }
+        return timer;
+    }
+
+    public List<Timer> getRouteTimers() {
+        return sortedTimers(true);
+    }
+
+    public List<Timer> getMethodTimers() {
+        return sortedTimers(false);
+    }
+
+    private List<Timer> sortedTimers(boolean route) {
+        List<Timer> sorted = new ArrayList<>();
+        for (Timer timer : timers.values()) {
+            if (timer.route == route) {
+                sorted.add(timer);
+            }
+        }
+        // Routes by pattern, then method
+        sorted.sort(Comparator.comparing(timer -> timer.name.substring(timer.name.indexOf(' ') + 1) + " " + timer.name));
+        return sorted;
+    }
+
+    public double getUptimeSeconds() {
+        return (System.currentTimeMillis() - startedMillis) / 1000.0;
+    }
+
+    private static int methodIndex(String method) {
+        for (int i = 0; i < METHODS.length - 1; i++) {
+            if (METHODS[i].equals(method)) {
+                return i;
+            }
+        }
+        return METHODS.length - 1;
+    }
+
+    public static final class Timer {
+        private final String name;
+        private final boolean route;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+        private final long createdMillis = System.currentTimeMillis();
+        private final long[] samples = new long[WINDOW_SAMPLES + 1];
+        private int sampleCount;
+
+        Timer(String name, boolean route) {
+            this.name = name;
+            this.route = route;
+        }
+
+        public void record(long nanos) {
+            histogram.record(nanos);
+        }
+
+        public void recordSince(long startNanos) {
+            histogram.record(System.nanoTime() - startNanos);
+        }
+
+        public void recordError() {
+            errors.increment();
+        }
+
+        synchronized void sample() {
+            samples[sampleCount % samples.length] = histogram.getCount();
+            sampleCount++;
+        }
+
+        /**
+         * Calls per second over the last minute, or since creation until two samples exist
+         */
+        public synchronized double getRecentRate() {
+            if (sampleCount < 2) {
+                double seconds = Math.max(1, System.currentTimeMillis() - createdMillis) / 1000.0;
+                return histogram.getCount() / seconds;
+            }
+            int window = Math.min(sampleCount, samples.length);
+            long newest = samples[(sampleCount - 1) % samples.length];
+            long oldest = samples[(sampleCount - window) % samples.length];
+            return (newest - oldest) / ((window - 1) * SAMPLE_INTERVAL_MS / 1000.0);
+        }
+
+        public String getName() { return name; }
+        public LatencyHistogram getHistogram() { return histogram; }
+        public long getCount() { return histogram.getCount(); }
+        public long getErrors() { return errors.sum(); }
+        public double getP50Millis() { return histogram.getPercentileMillis(50); }
+        public double getP99Millis() { return histogram.getPercentileMillis(99); }
+        public double getP999Millis() { return histogram.getPercentileMillis(99.9); }
+        public double getMaxMillis() { return histogram.getMaxMillis(); }
+        public double getMeanMillis() { return histogram.getMeanMillis(); }
+    }
+}
@@ -1,5 +1,6 @@
 package com.superm.community.service;
 
+import com.superm.community.model.GeneratedContent;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
@@ -19,29 +20,34 @@ public class OpenAIService {
     private static final String OPENAI_API_URL = "https://api.openai.com/v1/chat/completions";
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
+    private final MetricsRegistry.Timer generateContentTimer;
     
-    public OpenAIService() {
+    public OpenAIService(MetricsRegistry metrics) {
         this.restTemplate = new RestTemplate();
         this.objectMapper = new ObjectMapper();
+        this.generateContentTimer = metrics.timer("OpenAIService.generateContent");
     }
     
     /**
      * Generate content using ChatGPT API
      */
-    public Map<String, Object> generateContent(String contentType, String topic, String communityId, String aiTool) {
-        Map<String, Object> content = new HashMap<>();
-        content.put("id", "content_" + System.currentTimeMillis());
-        content.put("type", contentType);
-        content.put("topic", topic);
-        content.put("communityId", communityId);
-        content.put("aiTool", aiTool);
-        content.put("generatedAt", java.time.LocalDateTime.now().toString());
+    public GeneratedContent generateContent(String contentType, String topic, String communityId, String aiTool) {
+        long start = System.nanoTime();
+        try {
+            return requestContent(contentType, topic, communityId, aiTool);
+        } finally {
+            generateContentTimer.recordSince(start);
+        }
+    }
+    
+    private GeneratedContent requestContent(String contentType, String topic, String communityId, String aiTool) {
+        GeneratedContent content = new GeneratedContent("content_" + System.currentTimeMillis(), contentType, topic,
+            communityId, aiTool, java.time.LocalDateTime.now().toString());
         
         try {
             // Check if API key is available
             if (openaiApiKey == null || openaiApiKey.trim().isEmpty()) {
-                content.put("status", "Error");
-                content.put("error", "OpenAI API key not configured");
+                content.setError("OpenAI API key not configured");
                 return content;
             }
             
@@ -49,19 +55,15 @@ public class OpenAIService {
             String generatedContent = generateContentWithChatGPT(contentType, topic);
             
             if (generatedContent != null && !generatedContent.trim().isEmpty()) {
-                content.put("status", "Generated");
-                
                 // Parse and structure the generated content
                 parseGeneratedContent(content, contentType, generatedContent);
                 
             } else {
-                content.put("status", "Error");
-                content.put("error", "Failed to generate content");
+                content.setError("Failed to generate content");
             }
             
         } catch (Exception e) {
-            content.put("status", "Error");
-            content.put("error", "API call failed: " + e.getMessage());
+            content.setError("API call failed: " + e.getMessage());
         }
         
         return content;
@@ -194,7 +196,7 @@ public class OpenAIService {
     /**
      * Parse generated content and structure it based on content type
      */
-    private void parseGeneratedContent(Map<String, Object> content, String contentType, String generatedText) {
+    private void parseGeneratedContent(GeneratedContent content, String contentType, String generatedText) {
         switch (contentType.toLowerCase()) {
             case "article":
                 parseArticleContent(content, generatedText);
@@ -206,78 +208,66 @@ public class OpenAIService {
                 parsePhotoContent(content, generatedText);
                 break;
             default:
-                content.put("content", generatedText);
+                content.setContent(generatedText);
         }
     }
     
     /**
      * Parse article content
      */
-    private void parseArticleContent(Map<String, Object> content, String generatedText) {
-        content.put("content", generatedText);
-        
+    private void parseArticleContent(GeneratedContent content, String generatedText) {
         // Extract title (first line or first heading)
         String[] lines = generatedText.split("\n");
         String title = lines[0].replaceAll("^#+\\s*", "").trim();
         if (title.length() > 100) {
             title = title.substring(0, 100) + "...";
         }
-        content.put("title", title);
         
         // Calculate word count
         int wordCount = generatedText.split("\\s+").length;
-        content.put("wordCount", wordCount);
         
         // Estimate reading time (average 200 words per minute)
         int readingTime = Math.max(1, wordCount / 200);
-        content.put("readingTime", readingTime + " min read");
+        content.setArticle(title, generatedText, wordCount, readingTime + " min read");
     }
     
     /**
      * Parse video content
      */
-    private void parseVideoContent(Map<String, Object> content, String generatedText) {
-        content.put("script", generatedText);
-        
+    private void parseVideoContent(GeneratedContent content, String generatedText) {
         // Extract title
         String[] lines = generatedText.split("\n");
         String title = lines[0].replaceAll("^#+\\s*", "").trim();
         if (title.length() > 80) {
             title = title.substring(0, 80) + "...";
         }
-        content.put("title", title);
         
         // Estimate duration (rough calculation)
         int wordCount = generatedText.split("\\s+").length;
         int estimatedDuration = Math.max(30, wordCount / 3); // Rough estimate
-        content.put("duration", estimatedDuration + " seconds");
         
         // Extract hashtags
         List<String> hashtags = extractHashtags(generatedText);
-        content.put("hashtags", hashtags);
+        content.setVideo(title, generatedText, estimatedDuration + " seconds", String.join(" ", hashtags));
     }
     
     /**
      * Parse photo content
      */
-    private void parsePhotoContent(Map<String, Object> content, String generatedText) {
-        content.put("caption", generatedText);
-        
+    private void parsePhotoContent(GeneratedContent content, String generatedText) {
         // Extract title (first line)
         String[] lines = generatedText.split("\n");
         String title = lines[0].trim();
         if (title.length() > 60) {
             title = title.substring(0, 60) + "...";
         }
-        content.put("title", title);
         
         // Extract hashtags
         List<String> hashtags = extractHashtags(generatedText);
-        content.put("hashtags", hashtags);
         
         // Generate alt text
-        String altText = "Photo related to " + content.get("topic") + " for parents and families";
-        content.put("altText", altText);
+        String altText = "Photo related to " + content.getTopic() + " for parents and families";
+        content.setPhoto(title, generatedText, String.join(" ", hashtags), altText);
     }
     
     /**
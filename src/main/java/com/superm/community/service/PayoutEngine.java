@@ -0,0 +1,94 @@
+package com.superm.community.service;
+
+import com.superm.community.model.LeaderStats;
+import com.superm.community.model.PayoutLine;
+import com.superm.community.model.User;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Computes leader payouts from the per-leader aggregates in {@link StaticDataService}
+ * and records them in the {@link PayoutLedger}. Each selected leader costs two map lookups,
+ * and large selections are computed in parallel, so a run over thousands of leaders is
+ * dominated by the single ledger write.
+ */
+@Service
+public class PayoutEngine {
+
+    private static final Pattern RUN_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private final StaticDataService data;
+    private final PayoutLedger ledger;
+
+    public PayoutEngine(StaticDataService data, PayoutLedger ledger) {
+        this.data = data;
+        this.ledger = ledger;
+    }
+
+    /**
+     * Pays each selected leader per post in the communities they lead. Leaders already paid
+     * under this run id are skipped, so a retried or double-submitted run is harmless.
+     */
+    public PayoutRun run(String runId, Collection<String> leaderIds, int dollarsPerPost, int tokensPerPost) throws IOException {
+        if (runId == null || !RUN_ID.matcher(runId).matches()) {
+            throw new IllegalArgumentException("Invalid payout run id: " + runId);
+        }
+        Map<String, User> leadersById = data.getAllUsers().stream()
+            .filter(User::isLeader)
+            .collect(Collectors.toMap(User::getId, Function.identity(), (a, b) -> a));
+
+        long now = System.currentTimeMillis();
+        List<String> selected = leaderIds.stream()
+            .map(String::trim)
+            .filter(id -> !id.isEmpty())
+            .distinct()
+            .collect(Collectors.toList());
+        List<PayoutLine> lines = selected.parallelStream()
+            .map(leadersById::get)
+            .filter(Objects::nonNull)
+            .filter(leader -> !ledger.contains(runId, leader.getId()))
+            .map(leader -> {
+                LeaderStats stats = data.getLeaderStats(leader.getName());
+                int posts = stats.getPostCount();
+                return new PayoutLine(runId, leader.getId(), leader.getName(), posts,
+                    (long) posts * dollarsPerPost, (long) posts * tokensPerPost, now);
+            })
+            .collect(Collectors.toList());
+
+        List<PayoutLine> recorded = ledger.record(lines);
+        int unknown = (int) selected.stream().filter(id -> !leadersById.containsKey(id)).count();
+        return new PayoutRun(runId, recorded, selected.size() - unknown - recorded.size(), unknown);
+    }
+
+    /**
+     * Outcome of one payout run
+     */
+    public static class PayoutRun {
+        private final String runId;
+        private final List<PayoutLine> paid;
+        private final int alreadyPaid;
+        private final int unknownLeaders;
+
+        PayoutRun(String runId, List<PayoutLine> paid, int alreadyPaid, int unknownLeaders) {
+            this.runId = runId;
+            this.paid = paid;
+            this.alreadyPaid = alreadyPaid;
+            this.unknownLeaders = unknownLeaders;
+        }
+
+        public String getRunId() { return runId; }
+        public List<PayoutLine> getPaid() { return paid; }
+        public int getAlreadyPaid() { return alreadyPaid; }
+        public int getUnknownLeaders() { return unknownLeaders; }
+        public long getTotalDollars() { return paid.stream().mapToLong(PayoutLine::getDollars).sum(); }
+        public long getTotalTokens() { return paid.stream().mapToLong(PayoutLine::getTokens).sum(); }
+    }
+}
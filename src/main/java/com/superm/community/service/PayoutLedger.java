@@ -0,0 +1,178 @@
+package com.superm.community.service;
+
+import com.superm.community.model.PayoutLine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Append-only payout ledger, one tab-separated line per leader per payout run.
+ * A (run id, leader id) pair is recorded at most once, so resubmitting a run pays nobody twice.
+ * Each batch is written in one append and forced to disk before record() returns.
+ */
+@Service
+public class PayoutLedger {
+
+    private static final int FIELDS = 7;
+    private static final int RECENT_SIZE = 100;
+
+    @Value("${payouts.ledger-file:data/payouts/ledger.tsv}")
+    private String ledgerFile;
+
+    private final Set<String> recordedKeys = ConcurrentHashMap.newKeySet();
+    private final Deque<PayoutLine> recent = new ArrayDeque<>();
+    private Path file;
+    private FileChannel channel;
+
+    @PostConstruct
+    void open() throws IOException {
+        file = Paths.get(ledgerFile);
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        boolean needsNewline = false;
+        if (Files.exists(file)) {
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isEmpty()) {
+                        continue;
+                    }
+                    PayoutLine parsed = parse(line);
+                    if (parsed == null) {
+                        System.err.println("Skipping malformed payout ledger line: " + line);
+                        continue;
+                    }
+                    recordedKeys.add(key(parsed.getRunId(), parsed.getLeaderId()));
+                    remember(parsed);
+                }
+            }
+            needsNewline = Files.size(file) > 0 && !endsWithNewline(file);
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        if (needsNewline) {
+            // A crash mid-append left a partial line; keep the next batch off it
+            channel.write(ByteBuffer.wrap(new byte[] {'\n'}));
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        channel.close();
+    }
+
+    public boolean contains(String runId, String leaderId) {
+        return recordedKeys.contains(key(runId, leaderId));
+    }
+
+    /**
+     * Durably appends the lines not already in the ledger and returns them
+     */
+    public synchronized List<PayoutLine> record(List<PayoutLine> lines) throws IOException {
+        List<PayoutLine> fresh = new ArrayList<>(lines.size());
+        StringBuilder batch = new StringBuilder(lines.size() * 96);
+        Set<String> batchKeys = new HashSet<>();
+        for (PayoutLine line : lines) {
+            String key = key(line.getRunId(), line.getLeaderId());
+            if (recordedKeys.contains(key) || !batchKeys.add(key)) {
+                continue;
+            }
+            fresh.add(line);
+            format(line, batch);
+        }
+        if (fresh.isEmpty()) {
+            return fresh;
+        }
+
+        ByteBuffer bytes = ByteBuffer.wrap(batch.toString().getBytes(StandardCharsets.UTF_8));
+        long sizeBefore = channel.size();
+        try {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            // Nothing from a failed batch may count as paid, on disk or in memory
+            channel.truncate(sizeBefore);
+            throw e;
+        }
+
+        // Only now is the batch paid as far as any retry is concerned
+        recordedKeys.addAll(batchKeys);
+        for (PayoutLine line : fresh) {
+            remember(line);
+        }
+        return fresh;
+    }
+
+    /**
+     * Most recent ledger lines, newest first
+     */
+    public synchronized List<PayoutLine> getRecent() {
+        return new ArrayList<>(recent);
+    }
+
+    private void remember(PayoutLine line) {
+        recent.addFirst(line);
+        if (recent.size() > RECENT_SIZE) {
+            recent.removeLast();
+        }
+    }
+
+    private static String key(String runId, String leaderId) {
+        return runId + '\t' + leaderId;
+    }
+
+    private static void format(PayoutLine line, StringBuilder out) {
+        out.append(clean(line.getRunId())).append('\t')
+            .append(clean(line.getLeaderId())).append('\t')
+            .append(clean(line.getLeaderName())).append('\t')
+            .append(line.getPosts()).append('\t')
+            .append(line.getDollars()).append('\t')
+            .append(line.getTokens()).append('\t')
+            .append(line.getRecordedAtMillis()).append('\n');
+    }
+
+    private static PayoutLine parse(String line) {
+        String[] fields = line.split("\t", -1);
+        if (fields.length != FIELDS) {
+            return null;
+        }
+        try {
+            return new PayoutLine(fields[0], fields[1], fields[2], Integer.parseInt(fields[3]),
+                Long.parseLong(fields[4]), Long.parseLong(fields[5]), Long.parseLong(fields[6]));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String clean(String value) {
+        return value.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+
+    private static boolean endsWithNewline(Path path) throws IOException {
+        try (FileChannel reader = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer last = ByteBuffer.allocate(1);
+            reader.read(last, reader.size() - 1);
+            return last.get(0) == '\n';
+        }
+    }
+}
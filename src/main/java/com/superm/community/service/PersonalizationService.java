@@ -1,287 +1,251 @@
 package com.superm.community.service;
 
+import com.superm.community.model.EngagementEvent;
+import com.superm.community.model.FeedSummary;
 import com.superm.community.model.Post;
+import com.superm.community.model.PostFeatures;
 import com.superm.community.model.Community;
 import com.superm.community.model.User;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneOffset;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 public class PersonalizationService {
     
-    // User engagement data (in production, this would be in a database)
-    private final Map<String, Map<String, Object>> userEngagement = new HashMap<>();
-    private final Map<String, List<String>> userViewedPosts = new HashMap<>();
-    private final Map<String, List<String>> userLikedPosts = new HashMap<>();
-    private final Map<String, Map<String, Integer>> userTopicScores = new HashMap<>();
+    // Per-user viewed/liked posts and topic interests, persisted and bounded in memory
+    private final UserEngagementStore engagementStore;
+    private final RankingExperimentService rankingExperiments;
+    private final EngagementVelocityTracker velocityTracker;
+    private final EngagementHeavyHitters heavyHitters;
+    private final PostCounterService postCounters;
+    private final ItemSimilarityModel itemSimilarity;
+    private final MetricsRegistry.Timer personalizedFeedTimer;
+    
+    // Number of top-ranked posts shown in the "For You" tab
+    private static final int FOR_YOU_SIZE = 10;
+    
+    // Community suggestions shown per user
+    private static final int COMMUNITY_SUGGESTIONS = 5;
+    
+    // How many of the window's most engaged posts feed the "Popular" tab
+    private static final int POPULAR_TRACKED = 20;
+    
+    // A tracked post leads Popular only with real engagement over the window, e.g. ten likes
+    // or thirty views in the last day; the rest fall back to the static likes rule
+    private static final long POPULAR_MIN_COUNT = 30;
+    
+    // Live trending needs sustained engagement, e.g. two likes or five views in the last hour,
+    // and keeps only the fastest posts; the rest fall back to the static likes rule
+    private static final double TRENDING_MIN_VELOCITY = 5.0;
+    private static final int TRENDING_LIVE_SIZE = 10;
+    
+    // Same community at most once in any 3 consecutive posts, no author back to back
+    private final DiversityReRanker diversityReRanker = new DiversityReRanker(3, 2, 32);
+    
+    public PersonalizationService(UserEngagementStore engagementStore, RankingExperimentService rankingExperiments, EngagementVelocityTracker velocityTracker,
+                                  EngagementHeavyHitters heavyHitters, PostCounterService postCounters,
+                                  ItemSimilarityModel itemSimilarity, MetricsRegistry metrics) {
+        this.engagementStore = engagementStore;
+        this.rankingExperiments = rankingExperiments;
+        this.velocityTracker = velocityTracker;
+        this.heavyHitters = heavyHitters;
+        this.postCounters = postCounters;
+        this.itemSimilarity = itemSimilarity;
+        this.personalizedFeedTimer = metrics.timer("PersonalizationService.getPersonalizedFeed");
+    }
     
     /**
      * Get personalized feed for a user
      * Uses AI-powered ranking algorithm
      */
     public List<Post> getPersonalizedFeed(String userId, List<Post> allPosts, String[] userTopics, List<Community> communities) {
-        // Create scored posts
-        List<ScoredPost> scoredPosts = new ArrayList<>();
-        
-        for (Post post : allPosts) {
-            double score = calculatePostScore(userId, post, userTopics, communities);
-            scoredPosts.add(new ScoredPost(post, score));
+        long start = System.nanoTime();
+        try {
+            return rankPersonalizedFeed(userId, allPosts, userTopics, communities);
+        } finally {
+            personalizedFeedTimer.recordSince(start);
         }
+    }
+    
+    private List<Post> rankPersonalizedFeed(String userId, List<Post> allPosts, String[] userTopics, List<Community> communities) {
+        // Per-request inputs are resolved once; per-post scoring is then pure arithmetic
+        FeedContext context = new FeedContext(userTopics, communities);
+        
+        // Lay the candidates out as primitive columns and score them in one batch
+        // with the ranking model of the user's experiment variant
+        RankingExperimentService.Variant variant = rankingExperiments.assign(userId);
+        long startNanos = System.nanoTime();
+        FeedColumns columns = buildColumns(userId, allPosts, context);
+        double[] scores = new double[columns.size()];
+        variant.getModel().score(columns, scores);
         
         // Sort by score (descending)
-        scoredPosts.sort((a, b) -> Double.compare(b.score, a.score));
+        int[] order = BatchFeedScorer.rankDescending(scores, columns.size());
+        List<Post> rankedPosts = new ArrayList<>(order.length);
+        for (int index : order) {
+            rankedPosts.add(columns.posts[index]);
+        }
+        variant.recordRanking(System.nanoTime() - startNanos, columns.size());
         
         // Apply diversity - don't show too many posts from same community in a row
-        List<Post> diversifiedPosts = applyDiversity(scoredPosts);
+        List<Post> diversifiedPosts = diversityReRanker.rerank(rankedPosts);
         
         return diversifiedPosts;
     }
     
     /**
-     * Calculate AI-powered relevance score for a post
+     * Extract the per-post ranking components into struct-of-arrays form.
+     * Topic, engagement, recency, time-of-day and personal components are then
+     * weighted by the ranking model.
      */
-    private double calculatePostScore(String userId, Post post, String[] userTopics, List<Community> communities) {
-        double score = 0.0;
-        
-        // 1. TOPIC RELEVANCE SCORE (40% weight)
-        double topicScore = calculateTopicRelevance(post, userTopics, communities);
-        score += topicScore * 0.4;
-        
-        // 2. ENGAGEMENT SCORE (25% weight) - Popular content
-        double engagementScore = calculateEngagementScore(post);
-        score += engagementScore * 0.25;
+    private FeedColumns buildColumns(String userId, List<Post> allPosts, FeedContext context) {
+        FeedColumns columns = new FeedColumns(allPosts.size());
+        UserEngagementState engagement = engagementStore.get(userId);
+        Set<String> viewedPosts = engagement.getViewedPosts();
+        Set<String> likedPosts = engagement.getLikedPosts();
+        // Neighbour lookups for the user's history happen once, not per candidate
+        Map<String, Double> affinities = itemSimilarity.getAffinities(likedPosts, viewedPosts);
         
-        // 3. RECENCY SCORE (20% weight) - Newer content prioritized
-        double recencyScore = calculateRecencyScore(post);
-        score += recencyScore * 0.2;
-        
-        // 4. TIME-OF-DAY OPTIMIZATION (10% weight)
-        double timeScore = calculateTimeRelevance(post);
-        score += timeScore * 0.1;
-        
-        // 5. PERSONALIZATION SCORE (5% weight) - Based on user history
-        double personalScore = calculatePersonalScore(userId, post);
-        score += personalScore * 0.05;
-        
-        return score;
+        for (Post post : allPosts) {
+            PostFeatures features = context.featuresOf(post);
+            long hoursAgo = (context.nowEpochSecond - post.getCreatedAt().toEpochSecond(ZoneOffset.UTC)) / 3600;
+            columns.add(post,
+                calculateTopicRelevance(features, context),
+                hoursAgo,
+                calculateTimeRelevance(features, context),
+                calculatePersonalScore(post, viewedPosts, likedPosts, affinities));
+        }
+        return columns;
     }
     
     /**
      * Topic relevance - matches user interests
      */
-    private double calculateTopicRelevance(Post post, String[] userTopics, List<Community> communities) {
-        if (userTopics == null || userTopics.length == 0) {
+    private double calculateTopicRelevance(PostFeatures features, FeedContext context) {
+        if (context.topicCount == 0) {
             return 0.5; // Neutral score if no topics
         }
         
-        // Get post's community
-        Community community = communities.stream()
-            .filter(c -> c.getId().equals(post.getCommunityId()))
-            .findFirst()
-            .orElse(null);
-        
-        if (community == null) return 0.0;
-        
-        String postText = (post.getContent() + " " + community.getName() + " " + community.getDescription()).toLowerCase();
-        
-        int matches = 0;
-        for (String topic : userTopics) {
-            if (postText.contains(topic.toLowerCase())) {
-                matches++;
-            }
-        }
-        
-        // Return score 0.0 to 1.0
-        return (double) matches / userTopics.length;
-    }
-    
-    /**
-     * Engagement score - viral/popular content
-     */
-    private double calculateEngagementScore(Post post) {
-        // Weighted engagement: likes are more valuable than views
-        double engagementPoints = (post.getLikes() * 3.0) + (post.getComments() * 5.0);
-        
-        // Normalize to 0-1 scale (assuming max engagement ~200 points)
-        return Math.min(engagementPoints / 200.0, 1.0);
-    }
-    
-    /**
-     * Recency score - fresh content prioritized
-     */
-    private double calculateRecencyScore(Post post) {
-        LocalDateTime now = LocalDateTime.now();
-        long hoursAgo = java.time.Duration.between(post.getCreatedAt(), now).toHours();
-        
-        // Exponential decay: newest posts score highest
-        if (hoursAgo < 1) return 1.0;
-        if (hoursAgo < 6) return 0.9;
-        if (hoursAgo < 12) return 0.7;
-        if (hoursAgo < 24) return 0.5;
-        if (hoursAgo < 48) return 0.3;
-        if (hoursAgo < 168) return 0.2; // 1 week
-        return 0.1;
+        // Share of the user's topics mentioned by the post or its community
+        int matches = Long.bitCount(features.getTopicMask() & context.topicMask);
+        return (double) matches / context.topicCount;
     }
     
     /**
      * Time-of-day optimization - show relevant content at relevant times
      */
-    private double calculateTimeRelevance(Post post) {
-        LocalTime now = LocalTime.now();
-        String postText = post.getContent().toLowerCase();
-        
-        // Morning (6am-10am): Breakfast, morning routines
-        if (now.getHour() >= 6 && now.getHour() < 10) {
-            if (postText.contains("breakfast") || postText.contains("morning") || 
-                postText.contains("routine")) {
-                return 1.0;
-            }
-        }
-        
-        // Midday (10am-2pm): Activities, development
-        if (now.getHour() >= 10 && now.getHour() < 14) {
-            if (postText.contains("activity") || postText.contains("play") || 
-                postText.contains("learning")) {
-                return 1.0;
-            }
+    private double calculateTimeRelevance(PostFeatures features, FeedContext context) {
+        if ((features.getTimeCategoryMask() & context.timeCategory) != 0) {
+            return 1.0;
         }
-        
-        // Afternoon (2pm-6pm): Nutrition, snacks
-        if (now.getHour() >= 14 && now.getHour() < 18) {
-            if (postText.contains("snack") || postText.contains("meal") || 
-                postText.contains("nutrition")) {
-                return 1.0;
-            }
-        }
-        
-        // Evening (6pm-10pm): Sleep, bedtime, behavior
-        if (now.getHour() >= 18 && now.getHour() < 22) {
-            if (postText.contains("sleep") || postText.contains("bedtime") || 
-                postText.contains("tantrum") || postText.contains("behavior")) {
-                return 1.0;
-            }
-        }
-        
-        // Night (10pm-6am): Sleep training, night wakings
-        if (now.getHour() >= 22 || now.getHour() < 6) {
-            if (postText.contains("sleep") || postText.contains("night") || 
-                postText.contains("waking")) {
-                return 1.0;
-            }
-        }
-        
         return 0.5; // Neutral score if no time match
     }
     
     /**
      * Personal score based on user's past behavior
      */
-    private double calculatePersonalScore(String userId, Post post) {
+    private double calculatePersonalScore(Post post, Set<String> viewedPosts, Set<String> likedPosts,
+                                          Map<String, Double> affinities) {
         // Check if user has viewed this post before (lower score)
-        List<String> viewedPosts = userViewedPosts.getOrDefault(userId, new ArrayList<>());
         if (viewedPosts.contains(post.getId())) {
             return 0.0; // Already seen
         }
         
-        // Check if user liked similar posts (higher score)
-        List<String> likedPosts = userLikedPosts.getOrDefault(userId, new ArrayList<>());
-        if (!likedPosts.isEmpty()) {
-            // If user has engagement history, use it
-            return 0.8;
+        // Boost posts that people with the same history engaged with
+        if (!likedPosts.isEmpty() || !viewedPosts.isEmpty()) {
+            double affinity = affinities.getOrDefault(post.getId(), 0.0);
+            return 0.5 + 0.5 * Math.min(affinity, 1.0);
         }
         
         return 0.5; // Neutral for new users
     }
     
-    /**
-     * Apply diversity to prevent too many posts from same community in a row
-     */
-    private List<Post> applyDiversity(List<ScoredPost> scoredPosts) {
-        List<Post> result = new ArrayList<>();
-        Set<String> recentCommunities = new HashSet<>();
-        int diversityWindow = 3; // Don't show same community within 3 posts
-        
-        for (ScoredPost sp : scoredPosts) {
-            String communityId = sp.post.getCommunityId();
-            
-            if (!recentCommunities.contains(communityId)) {
-                result.add(sp.post);
-                recentCommunities.add(communityId);
-                
-                // Maintain sliding window
-                if (recentCommunities.size() > diversityWindow) {
-                    recentCommunities.clear();
-                }
-            } else {
-                // Add to end for later consideration
-                result.add(sp.post);
-            }
-        }
-        
-        return result;
-    }
-    
     /**
      * Track user engagement for better personalization
      */
     public void trackPostView(String userId, String postId) {
-        userViewedPosts.putIfAbsent(userId, new ArrayList<>());
-        if (!userViewedPosts.get(userId).contains(postId)) {
-            userViewedPosts.get(userId).add(postId);
+        if (engagementStore.recordView(userId, postId)) {
+            itemSimilarity.submit(new EngagementEvent(EngagementEvent.Type.VIEW, userId, postId));
+            velocityTracker.recordView(postId);
+            heavyHitters.record(postId, EngagementVelocityTracker.VIEW_WEIGHT);
         }
     }
     
     public void trackPostLike(String userId, String postId) {
-        userLikedPosts.putIfAbsent(userId, new ArrayList<>());
-        if (!userLikedPosts.get(userId).contains(postId)) {
-            userLikedPosts.get(userId).add(postId);
+        if (engagementStore.recordLike(userId, postId)) {
+            itemSimilarity.submit(new EngagementEvent(EngagementEvent.Type.LIKE, userId, postId));
+            velocityTracker.recordLike(postId);
+            heavyHitters.record(postId, EngagementVelocityTracker.LIKE_WEIGHT);
+            postCounters.recordLike(postId);
+        }
+    }
+    
+    /**
+     * Apply a coalesced batch of engagement events from the ingestion pipeline
+     */
+    public void applyEngagementBatch(Collection<EngagementEvent> events) {
+        for (EngagementEvent event : events) {
+            rankingExperiments.recordEngagement(event);
+            if (event.getType() == EngagementEvent.Type.LIKE) {
+                trackPostLike(event.getUserId(), event.getPostId());
+            } else {
+                trackPostView(event.getUserId(), event.getPostId());
+            }
         }
     }
     
     public void trackTopicInterest(String userId, String topic, int weight) {
-        userTopicScores.putIfAbsent(userId, new HashMap<>());
-        Map<String, Integer> scores = userTopicScores.get(userId);
-        scores.put(topic, scores.getOrDefault(topic, 0) + weight);
+        engagementStore.recordTopicInterest(userId, topic, weight);
     }
     
     /**
      * Get content diversity score for feed health
      */
     public Map<String, Object> getFeedHealthMetrics(List<Post> personalizedFeed) {
+        FeedSummary summary = summarizeFeed(personalizedFeed);
         Map<String, Object> metrics = new HashMap<>();
-        
-        // Count unique communities
-        Set<String> uniqueCommunities = personalizedFeed.stream()
-            .map(Post::getCommunityId)
-            .collect(Collectors.toSet());
-        
-        metrics.put("totalPosts", personalizedFeed.size());
-        metrics.put("uniqueCommunities", uniqueCommunities.size());
-        metrics.put("diversityScore", (double) uniqueCommunities.size() / Math.max(personalizedFeed.size(), 1));
-        
-        // Average age of content
-        long avgHoursOld = personalizedFeed.stream()
-            .mapToLong(p -> java.time.Duration.between(p.getCreatedAt(), LocalDateTime.now()).toHours())
-            .sum() / Math.max(personalizedFeed.size(), 1);
-        metrics.put("averageContentAge", avgHoursOld + " hours");
-        
+        metrics.put("totalPosts", summary.getTotalPostsAvailable());
+        metrics.put("uniqueCommunities", summary.getUniqueCommunities());
+        metrics.put("diversityScore", summary.getDiversityScore());
+        metrics.put("averageContentAge", summary.getAverageContentAge());
         return metrics;
     }
     
     /**
-     * Helper class to hold post with its relevance score
+     * Per-request ranking inputs, resolved once per feed instead of once per post
      */
-    private static class ScoredPost {
-        Post post;
-        double score;
+    private static class FeedContext {
+        final long topicMask;
+        final int topicCount;
+        final int timeCategory;
+        final LocalDateTime now;
+        final long nowEpochSecond;
+        final List<Community> communities;
+        
+        FeedContext(String[] userTopics, List<Community> communities) {
+            this.topicMask = TopicVocabulary.maskOf(userTopics);
+            this.topicCount = userTopics == null ? 0 : userTopics.length;
+            this.now = LocalDateTime.now();
+            this.nowEpochSecond = now.toEpochSecond(ZoneOffset.UTC);
+            this.timeCategory = PostFeatureExtractor.timeCategoryForHour(now.getHour());
+            this.communities = communities;
+        }
         
-        ScoredPost(Post post, double score) {
-            this.post = post;
-            this.score = score;
+        PostFeatures featuresOf(Post post) {
+            PostFeatures features = post.getFeatures();
+            if (features == null) {
+                // Post was never indexed at load time - extract once and keep the result
+                Community community = communities.stream()
+                    .filter(c -> c.getId().equals(post.getCommunityId()))
+                    .findFirst()
+                    .orElse(null);
+                features = PostFeatureExtractor.index(post, community);
+            }
+            return features;
         }
     }
     
@@ -289,32 +253,34 @@ public class PersonalizationService {
      * Generate personalized community suggestions based on behavior
      */
     public List<Community> getPersonalizedCommunitySuggestions(String userId, List<Community> allCommunities, String[] userTopics) {
-        List<Community> suggestions = new ArrayList<>();
+        long topicMask = TopicVocabulary.maskOf(userTopics);
+        
+        // Min-heap of the best 5 so far: its head is the weakest suggestion kept
+        PriorityQueue<Map.Entry<Community, Double>> top = new PriorityQueue<>(
+            COMMUNITY_SUGGESTIONS + 1, Map.Entry.comparingByValue());
         
-        // Get communities user hasn't joined yet (based on topic match)
         for (Community community : allCommunities) {
-            double relevanceScore = 0.0;
-            
-            if (userTopics != null) {
-                for (String topic : userTopics) {
-                    String communityText = (community.getName() + " " + community.getDescription()).toLowerCase();
-                    if (communityText.contains(topic.toLowerCase())) {
-                        relevanceScore += 1.0;
-                    }
-                }
-            }
+            // One point per shared topic
+            double relevanceScore = Long.bitCount(community.getTopicMask() & topicMask);
             
             // Add popularity factor
             relevanceScore += Math.log(community.getMemberCount() + 1) / 10.0;
             
             if (relevanceScore > 0) {
-                suggestions.add(community);
+                top.offer(Map.entry(community, relevanceScore));
+                if (top.size() > COMMUNITY_SUGGESTIONS) {
+                    top.poll();
+                }
             }
         }
         
-        // Sort by relevance and limit to top 5
-        suggestions.sort((a, b) -> Integer.compare(b.getMemberCount(), a.getMemberCount()));
-        return suggestions.stream().limit(5).collect(Collectors.toList());
+        // Drain the heap weakest first, then flip to most relevant first
+        List<Community> suggestions = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            suggestions.add(top.poll().getKey());
+        }
+        Collections.reverse(suggestions);
+        return suggestions;
     }
     
     /**
@@ -323,12 +289,14 @@ public class PersonalizationService {
     public Map<String, Object> getUserFeedInsights(String userId, String[] userTopics) {
         Map<String, Object> insights = new HashMap<>();
         
+        UserEngagementState engagement = engagementStore.get(userId);
+        
         // Viewing patterns
-        List<String> viewedPosts = userViewedPosts.getOrDefault(userId, new ArrayList<>());
+        Set<String> viewedPosts = engagement.getViewedPosts();
         insights.put("totalPostsViewed", viewedPosts.size());
         
         // Engagement patterns
-        List<String> likedPosts = userLikedPosts.getOrDefault(userId, new ArrayList<>());
+        Set<String> likedPosts = engagement.getLikedPosts();
         insights.put("totalPostsLiked", likedPosts.size());
         insights.put("engagementRate", viewedPosts.size() > 0 ? 
             (double) likedPosts.size() / viewedPosts.size() : 0.0);
@@ -364,62 +332,119 @@ public class PersonalizationService {
     }
     
     /**
-     * Smart content categorization
+     * Single pass over the ranked feed: category buckets, freshness and popularity counts,
+     * community diversity and average age, all against one clock reading
      */
-    public Map<String, List<Post>> categorizeFeed(List<Post> posts, List<Community> communities) {
-        Map<String, List<Post>> categorized = new HashMap<>();
-        
-        categorized.put("For You", new ArrayList<>());
-        categorized.put("Trending", new ArrayList<>());
-        categorized.put("Recent", new ArrayList<>());
-        categorized.put("Popular", new ArrayList<>());
+    public FeedSummary summarizeFeed(List<Post> posts) {
+        long nowEpochSecond = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC);
+        
+        List<Post> forYou = new ArrayList<>(Math.min(posts.size(), FOR_YOU_SIZE));
+        List<Post> trending = new ArrayList<>();
+        List<Post> staticTrending = new ArrayList<>();
+        Map<Post, Double> velocities = new HashMap<>();
+        List<Post> recent = new ArrayList<>();
+        List<Post> popular = new ArrayList<>();
+        
+        // Popular is led by the tracked heavy hitters above the minimum, in their engagement order
+        Map<String, Integer> popularRank = new HashMap<>();
+        for (HeavyHitterSketch.Entry entry : heavyHitters.getTopPosts(POPULAR_TRACKED)) {
+            if (entry.getCount() >= POPULAR_MIN_COUNT) {
+                popularRank.put(entry.getKey(), popularRank.size());
+            }
+        }
+        Post[] trackedPopular = new Post[popularRank.size()];
+        Set<String> communityIds = new HashSet<>();
+        long freshCount = 0;
+        long popularCount = 0;
+        long totalHours = 0;
         
         for (Post post : posts) {
+            long hoursAgo = (nowEpochSecond - post.getCreatedAt().toEpochSecond(ZoneOffset.UTC)) / 3600;
+            int likes = post.getLikes();
+            totalHours += hoursAgo;
+            communityIds.add(post.getCommunityId());
+            
+            // "For You" gets the top of the personalized ranking
+            if (forYou.size() < FOR_YOU_SIZE) {
+                forYou.add(post);
+            }
+            
             // Recent posts (< 6 hours)
-            long hoursAgo = java.time.Duration.between(post.getCreatedAt(), LocalDateTime.now()).toHours();
             if (hoursAgo < 6) {
-                categorized.get("Recent").add(post);
+                recent.add(post);
+                freshCount++;
+            }
+            
+            // Trending (high engagement in short time): live velocity first, static likes as fallback
+            double velocity = velocityTracker.getVelocity(post.getId());
+            if (velocity >= TRENDING_MIN_VELOCITY) {
+                trending.add(post);
+                velocities.put(post, velocity);
+            }
+            if (hoursAgo < 24 && likes > 20) {
+                staticTrending.add(post);
             }
             
-            // Trending (high engagement in short time)
-            if (hoursAgo < 24 && post.getLikes() > 20) {
-                categorized.get("Trending").add(post);
+            // Engagement potential
+            if (likes > 20) {
+                popularCount++;
             }
             
             // Popular (high engagement overall)
-            if (post.getLikes() > 30) {
-                categorized.get("Popular").add(post);
+            Integer rank = popularRank.get(post.getId());
+            if (rank != null) {
+                trackedPopular[rank] = post;
+            } else if (likes > 30) {
+                popular.add(post);
+            }
+        }
+        
+        // Only posts with live engagement need sorting; the stable sort keeps feed order on ties
+        trending.sort((a, b) -> Double.compare(velocities.get(b), velocities.get(a)));
+        if (trending.size() > TRENDING_LIVE_SIZE) {
+            trending = new ArrayList<>(trending.subList(0, TRENDING_LIVE_SIZE));
+        }
+        Set<Post> liveTrending = new HashSet<>(trending);
+        for (Post post : staticTrending) {
+            if (!liveTrending.contains(post)) {
+                trending.add(post);
+            }
+        }
+        
+        List<Post> popularFirst = new ArrayList<>(trackedPopular.length + popular.size());
+        for (Post post : trackedPopular) {
+            if (post != null) {
+                popularFirst.add(post);
             }
         }
+        popularFirst.addAll(popular);
         
-        // "For You" gets personalized content
-        categorized.put("For You", posts.stream().limit(10).collect(Collectors.toList()));
+        Map<String, List<Post>> buckets = new HashMap<>();
+        buckets.put("For You", forYou);
+        buckets.put("Trending", trending);
+        buckets.put("Recent", recent);
+        buckets.put("Popular", popularFirst);
         
-        return categorized;
+        return new FeedSummary(buckets, freshCount, popularCount, posts.size(),
+            communityIds.size(), totalHours / Math.max(posts.size(), 1));
+    }
+    
+    /**
+     * Smart content categorization
+     */
+    public Map<String, List<Post>> categorizeFeed(List<Post> posts, List<Community> communities) {
+        return summarizeFeed(posts).getBuckets();
     }
     
     /**
      * Generate feed insights for display
      */
     public Map<String, Object> getFeedInsights(List<Post> personalizedFeed) {
+        FeedSummary summary = summarizeFeed(personalizedFeed);
         Map<String, Object> insights = new HashMap<>();
-        
-        // Content freshness
-        long recentCount = personalizedFeed.stream()
-            .filter(p -> java.time.Duration.between(p.getCreatedAt(), LocalDateTime.now()).toHours() < 6)
-            .count();
-        
-        insights.put("freshContentCount", recentCount);
-        insights.put("totalPostsAvailable", personalizedFeed.size());
-        
-        // Engagement potential
-        long highEngagementCount = personalizedFeed.stream()
-            .filter(p -> p.getLikes() > 20)
-            .count();
-        
-        insights.put("popularPostsCount", highEngagementCount);
-        
+        insights.put("freshContentCount", summary.getFreshContentCount());
+        insights.put("totalPostsAvailable", summary.getTotalPostsAvailable());
+        insights.put("popularPostsCount", summary.getPopularPostsCount());
         return insights;
     }
 }
-
@@ -0,0 +1,145 @@
+package com.superm.community.service;
+
+import com.superm.community.model.Post;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Live like and comment counts with write-behind persistence.
+ * Likes go straight to the post's striped counters; a background task periodically rewrites
+ * the snapshot file with every post's counts, skipping the write when nothing changed since
+ * the last flush. The snapshot is read back at startup so counts survive restarts.
+ */
+@Service
+public class PostCounterService {
+
+    @Value("${post.counters.snapshot-file:data/post-counters.properties}")
+    private String snapshotFile;
+
+    @Value("${post.counters.flush-interval-ms:5000}")
+    private long flushIntervalMs;
+
+    private final StaticDataService dataService;
+
+    // Counts as of the last successful flush
+    private final Map<String, long[]> flushed = new HashMap<>();
+
+    private ScheduledExecutorService flusher;
+
+    public PostCounterService(StaticDataService dataService) {
+        this.dataService = dataService;
+    }
+
+    @PostConstruct
+    void start() {
+        restore();
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "post-counter-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(5, TimeUnit.SECONDS);
+        flushQuietly();
+    }
+
+    public void recordLike(String postId) {
+        Post post = dataService.findPostById(postId);
+        if (post != null) {
+            post.incrementLikes();
+            dataService.markPostChanged(post);
+        }
+    }
+
+    private void restore() {
+        Path path = Paths.get(snapshotFile);
+        if (!Files.exists(path)) {
+            return;
+        }
+        Properties snapshot = new Properties();
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            snapshot.load(reader);
+        } catch (IOException e) {
+            System.err.println("Could not read post counter snapshot " + path + ": " + e.getMessage());
+            return;
+        }
+        for (String postId : snapshot.stringPropertyNames()) {
+            Post post = dataService.findPostById(postId);
+            String[] counts = snapshot.getProperty(postId).split(",");
+            if (post == null || counts.length != 2) {
+                continue;
+            }
+            try {
+                long likes = Long.parseLong(counts[0].trim());
+                long comments = Long.parseLong(counts[1].trim());
+                post.restoreCounts(likes, comments);
+                flushed.put(postId, new long[] {likes, comments});
+            } catch (NumberFormatException e) {
+                // Skip the corrupt entry and keep the seeded counts
+            }
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Post counter flush failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Rewrite the snapshot if any post's counts moved since the last flush
+     */
+    synchronized void flush() throws IOException {
+        Map<String, long[]> current = new HashMap<>();
+        boolean dirty = false;
+        for (Post post : dataService.getAllPosts()) {
+            long[] counts = {post.getLikes(), post.getComments()};
+            long[] previous = flushed.get(post.getId());
+            if (previous == null || previous[0] != counts[0] || previous[1] != counts[1]) {
+                dirty = true;
+            }
+            current.put(post.getId(), counts);
+        }
+        if (!dirty && current.keySet().equals(flushed.keySet())) {
+            return;
+        }
+
+        Properties snapshot = new Properties();
+        current.forEach((postId, counts) -> snapshot.setProperty(postId, counts[0] + "," + counts[1]));
+        Path path = Paths.get(snapshotFile).toAbsolutePath();
+        Files.createDirectories(path.getParent());
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            snapshot.store(writer, "Post like,comment counts");
+        }
+        // Readers of the snapshot only ever see a complete file
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        flushed.clear();
+        flushed.putAll(current);
+    }
+}
@@ -0,0 +1,82 @@
+package com.superm.community.service;
+
+import com.superm.community.model.Community;
+import com.superm.community.model.Post;
+import com.superm.community.model.PostFeatures;
+
+import java.util.Locale;
+
+/**
+ * Extracts ranking features from a post when it is created or loaded,
+ * so the feed never has to scan post text per request.
+ */
+public final class PostFeatureExtractor {
+
+    private static final String[] MORNING_KEYWORDS = {"breakfast", "morning", "routine"};
+    private static final String[] ACTIVITY_KEYWORDS = {"activity", "play", "learning"};
+    private static final String[] NUTRITION_KEYWORDS = {"snack", "meal", "nutrition"};
+    private static final String[] SLEEP_KEYWORDS = {"sleep", "bedtime", "tantrum", "behavior"};
+    private static final String[] NIGHT_KEYWORDS = {"sleep", "night", "waking"};
+
+    private PostFeatureExtractor() {
+    }
+
+    /**
+     * Extract features and attach them to the post
+     */
+    public static PostFeatures index(Post post, Community community) {
+        PostFeatures features = extract(post, community);
+        post.setFeatures(features);
+        return features;
+    }
+
+    public static PostFeatures extract(Post post, Community community) {
+        String content = post.getContent().toLowerCase(Locale.ROOT);
+
+        int timeMask = 0;
+        if (containsAny(content, MORNING_KEYWORDS)) timeMask |= PostFeatures.MORNING;
+        if (containsAny(content, ACTIVITY_KEYWORDS)) timeMask |= PostFeatures.ACTIVITY;
+        if (containsAny(content, NUTRITION_KEYWORDS)) timeMask |= PostFeatures.NUTRITION;
+        if (containsAny(content, SLEEP_KEYWORDS)) timeMask |= PostFeatures.SLEEP;
+        if (containsAny(content, NIGHT_KEYWORDS)) timeMask |= PostFeatures.NIGHT;
+
+        // Topic relevance looks at the post together with its community; orphaned posts match nothing
+        long topicMask = 0L;
+        if (community != null) {
+            String topicText = (post.getContent() + " " + community.getName() + " " + community.getDescription()).toLowerCase(Locale.ROOT);
+            topicMask = TopicVocabulary.maskOfText(topicText);
+        }
+
+        return new PostFeatures(timeMask, topicMask);
+    }
+
+    /**
+     * Compute and attach the community's topic bitmask
+     */
+    public static long indexTopics(Community community) {
+        String text = (community.getName() + " " + community.getDescription()).toLowerCase(Locale.ROOT);
+        long mask = TopicVocabulary.maskOfText(text);
+        community.setTopicMask(mask);
+        return mask;
+    }
+
+    /**
+     * Keyword category that is relevant at the given hour of day
+     */
+    public static int timeCategoryForHour(int hour) {
+        if (hour >= 6 && hour < 10) return PostFeatures.MORNING;      // Breakfast, morning routines
+        if (hour >= 10 && hour < 14) return PostFeatures.ACTIVITY;    // Activities, development
+        if (hour >= 14 && hour < 18) return PostFeatures.NUTRITION;   // Nutrition, snacks
+        if (hour >= 18 && hour < 22) return PostFeatures.SLEEP;       // Sleep, bedtime, behavior
+        return PostFeatures.NIGHT;                                    // Sleep training, night wakings
+    }
+
+    private static boolean containsAny(String text, String[] keywords) {
+        for (String keyword : keywords) {
+            if (text.contains(keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,161 @@
+package com.superm.community.service;
+
+import com.superm.community.model.EngagementEvent;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Online A/B experiments between ranking models.
+ * Users are deterministically hash-assigned to a variant; every variant keeps its own
+ * ranking latency histogram and engagement counters so cost and benefit can be compared.
+ */
+@Service
+public class RankingExperimentService {
+
+    // Traffic split as "model:weight" pairs, e.g. "heuristic:80,fresh:20"
+    @Value("${ranking.experiment.split:heuristic:100}")
+    private String split;
+
+    // Changing the salt reshuffles every user into a new assignment
+    @Value("${ranking.experiment.salt:feed-ranking-v1}")
+    private String salt;
+
+    private final Map<String, RankingModel> models = new LinkedHashMap<>();
+    private List<Variant> variants = new ArrayList<>();
+    private int totalWeight;
+
+    public RankingExperimentService(BatchFeedScorer feedScorer) {
+        // Built-in rankers; the first one is the control
+        register(new HeuristicRankingModel("heuristic", ScoringParameters.DEFAULT, feedScorer));
+        register(new HeuristicRankingModel("fresh", new ScoringParameters(
+            0.35, 0.15, 0.35, 0.1, 0.05,
+            3.0, 5.0, 200.0,
+            new double[] {1, 3, 6, 12, 24, 48},
+            new double[] {1.0, 0.9, 0.75, 0.5, 0.3, 0.15},
+            0.05), feedScorer));
+        register(new HeuristicRankingModel("popular", new ScoringParameters(
+            0.3, 0.45, 0.15, 0.05, 0.05,
+            3.0, 5.0, 300.0,
+            new double[] {24, 168},
+            new double[] {1.0, 0.5},
+            0.2), feedScorer));
+    }
+
+    public void register(RankingModel model) {
+        models.put(model.getName(), model);
+    }
+
+    @PostConstruct
+    void configure() {
+        List<Variant> configured = new ArrayList<>();
+        int weightSum = 0;
+        for (String entry : split.split(",")) {
+            String[] parts = entry.trim().split(":");
+            RankingModel model = models.get(parts[0].trim());
+            if (model == null) {
+                throw new IllegalStateException("Unknown ranking model in ranking.experiment.split: " + parts[0]);
+            }
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+            if (weight <= 0) continue;
+            weightSum += weight;
+            configured.add(new Variant(model, weightSum));
+        }
+        if (configured.isEmpty()) {
+            configured.add(new Variant(models.values().iterator().next(), 1));
+            weightSum = 1;
+        }
+        this.variants = configured;
+        this.totalWeight = weightSum;
+    }
+
+    /**
+     * Variant the user is assigned to; stable across requests, restarts and nodes
+     */
+    public Variant assign(String userId) {
+        if (variants.size() == 1 || userId == null) {
+            return variants.get(0);
+        }
+        long bucket = Math.floorMod(Hashing.hash64(salt + ":" + userId), (long) totalWeight);
+        for (Variant variant : variants) {
+            if (bucket < variant.upperBound) {
+                return variant;
+            }
+        }
+        return variants.get(variants.size() - 1);
+    }
+
+    /**
+     * Attribute an engagement event to the variant that ranked the user's feed
+     */
+    public void recordEngagement(EngagementEvent event) {
+        Variant variant = assign(event.getUserId());
+        if (event.getType() == EngagementEvent.Type.LIKE) {
+            variant.likes.increment();
+        } else {
+            variant.views.increment();
+        }
+    }
+
+    /**
+     * Side-by-side cost and engagement metrics per variant
+     */
+    public List<Map<String, Object>> getVariantMetrics() {
+        List<Map<String, Object>> metrics = new ArrayList<>();
+        int previousBound = 0;
+        for (Variant variant : variants) {
+            long requests = variant.latency.getCount();
+            long views = variant.views.sum();
+            long likes = variant.likes.sum();
+
+            Map<String, Object> row = new HashMap<>();
+            row.put("model", variant.model.getName());
+            row.put("trafficShare", (double) (variant.upperBound - previousBound) / totalWeight);
+            row.put("requests", requests);
+            row.put("candidatesScored", variant.candidates.sum());
+            row.put("latencyP50Ms", variant.latency.getPercentileMillis(50));
+            row.put("latencyP99Ms", variant.latency.getPercentileMillis(99));
+            row.put("latencyMaxMs", variant.latency.getMaxMillis());
+            row.put("views", views);
+            row.put("likes", likes);
+            row.put("engagementRate", views > 0 ? (double) likes / views : 0.0);
+            row.put("likesPerRequest", requests > 0 ? (double) likes / requests : 0.0);
+            metrics.add(row);
+            previousBound = variant.upperBound;
+        }
+        return metrics;
+    }
+
+    /**
+     * One arm of the experiment with its own metrics
+     */
+    public static class Variant {
+        private final RankingModel model;
+        private final int upperBound; // exclusive upper bound of this variant's hash range
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder candidates = new LongAdder();
+        private final LongAdder views = new LongAdder();
+        private final LongAdder likes = new LongAdder();
+
+        Variant(RankingModel model, int upperBound) {
+            this.model = model;
+            this.upperBound = upperBound;
+        }
+
+        public RankingModel getModel() {
+            return model;
+        }
+
+        public void recordRanking(long nanos, int candidateCount) {
+            latency.record(nanos);
+            candidates.add(candidateCount);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.superm.community.service;
+
+/**
+ * A feed ranking model: turns a batch of candidate feature columns into relevance scores.
+ * Implementations must be thread-safe; one instance serves every request assigned to it.
+ */
+public interface RankingModel {
+
+    /**
+     * Stable identifier used in experiment configuration and metrics
+     */
+    String getName();
+
+    /**
+     * Write a score for every row of the batch; higher scores rank first, scores must be non-negative
+     */
+    void score(FeedColumns columns, double[] scores);
+}
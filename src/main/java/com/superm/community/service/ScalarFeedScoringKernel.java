@@ -0,0 +1,38 @@
+package com.superm.community.service;
+
+/**
+ * Portable scoring loop, used when the JDK Vector API is not available.
+ */
+final class ScalarFeedScoringKernel implements FeedScoringKernel {
+
+    @Override
+    public void score(FeedColumns columns, ScoringParameters params, double[] scores) {
+        scoreRange(columns, params, scores, 0, columns.size());
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    static void scoreRange(FeedColumns c, ScoringParameters p, double[] scores, int from, int to) {
+        double topicWeight = p.getTopicWeight();
+        double engagementWeight = p.getEngagementWeight();
+        double recencyWeight = p.getRecencyWeight();
+        double timeWeight = p.getTimeWeight();
+        double personalWeight = p.getPersonalWeight();
+        double likeWeight = p.getLikeWeight();
+        double commentWeight = p.getCommentWeight();
+        double engagementCap = p.getEngagementCap();
+
+        for (int i = from; i < to; i++) {
+            double engagement = Math.min((c.likes[i] * likeWeight + c.comments[i] * commentWeight) / engagementCap, 1.0);
+            double recency = p.recencyScore(c.ageHours[i]);
+            scores[i] = c.topic[i] * topicWeight
+                + engagement * engagementWeight
+                + recency * recencyWeight
+                + c.time[i] * timeWeight
+                + c.personal[i] * personalWeight;
+        }
+    }
+}
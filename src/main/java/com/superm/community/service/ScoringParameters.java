@@ -0,0 +1,77 @@
+package com.superm.community.service;
+
+/**
+ * Weights and decay buckets used to turn feed features into a relevance score.
+ */
+public final class ScoringParameters {
+
+    /**
+     * The original feed heuristic: topic 40%, engagement 25%, recency 20%, time 10%, personal 5%
+     */
+    public static final ScoringParameters DEFAULT = new ScoringParameters(
+        0.4, 0.25, 0.2, 0.1, 0.05,
+        3.0, 5.0, 200.0,
+        new double[] {1, 6, 12, 24, 48, 168},
+        new double[] {1.0, 0.9, 0.7, 0.5, 0.3, 0.2},
+        0.1
+    );
+
+    private final double topicWeight;
+    private final double engagementWeight;
+    private final double recencyWeight;
+    private final double timeWeight;
+    private final double personalWeight;
+
+    // Engagement points = likes * likeWeight + comments * commentWeight, capped at engagementCap
+    private final double likeWeight;
+    private final double commentWeight;
+    private final double engagementCap;
+
+    // A post younger than recencyHours[i] scores recencyScores[i]; older than all buckets scores recencyFloor
+    private final double[] recencyHours;
+    private final double[] recencyScores;
+    private final double recencyFloor;
+
+    public ScoringParameters(double topicWeight, double engagementWeight, double recencyWeight,
+                             double timeWeight, double personalWeight,
+                             double likeWeight, double commentWeight, double engagementCap,
+                             double[] recencyHours, double[] recencyScores, double recencyFloor) {
+        if (recencyHours.length != recencyScores.length) {
+            throw new IllegalArgumentException("Recency hours and scores must have the same length");
+        }
+        this.topicWeight = topicWeight;
+        this.engagementWeight = engagementWeight;
+        this.recencyWeight = recencyWeight;
+        this.timeWeight = timeWeight;
+        this.personalWeight = personalWeight;
+        this.likeWeight = likeWeight;
+        this.commentWeight = commentWeight;
+        this.engagementCap = engagementCap;
+        this.recencyHours = recencyHours.clone();
+        this.recencyScores = recencyScores.clone();
+        this.recencyFloor = recencyFloor;
+    }
+
+    public double getTopicWeight() { return topicWeight; }
+    public double getEngagementWeight() { return engagementWeight; }
+    public double getRecencyWeight() { return recencyWeight; }
+    public double getTimeWeight() { return timeWeight; }
+    public double getPersonalWeight() { return personalWeight; }
+    public double getLikeWeight() { return likeWeight; }
+    public double getCommentWeight() { return commentWeight; }
+    public double getEngagementCap() { return engagementCap; }
+    public double getRecencyFloor() { return recencyFloor; }
+
+    // Kernels read the bucket arrays directly; callers must not mutate them
+    double[] recencyHours() { return recencyHours; }
+    double[] recencyScores() { return recencyScores; }
+
+    double recencyScore(double hoursAgo) {
+        for (int b = 0; b < recencyHours.length; b++) {
+            if (hoursAgo < recencyHours[b]) {
+                return recencyScores[b];
+            }
+        }
+        return recencyFloor;
+    }
+}
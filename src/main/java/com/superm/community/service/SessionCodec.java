@@ -0,0 +1,163 @@
+package com.superm.community.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary form of a {@link SessionRecord}: a logged-in session with three topics
+ * encodes to roughly 100 bytes, small enough to travel in a cookie.
+ * <pre>
+ *   version:byte  id:long  created:varlong(s)  lastAccess:varlong(s)  count:varint
+ *   count x ( name:byte (index into KNOWN_NAMES, or 0xFF + string)  type:byte  value )
+ * </pre>
+ * Strings are a varint UTF-8 length followed by the bytes; arrays a varint count of strings.
+ */
+public final class SessionCodec {
+
+    private static final int VERSION = 1;
+    private static final int LITERAL_NAME = 0xFF;
+    private static final int TYPE_STRING = 1;
+    private static final int TYPE_STRING_ARRAY = 2;
+
+    // Attribute names the controllers use, written as one byte
+    private static final List<String> KNOWN_NAMES = Arrays.asList(
+        "userId", "userName", "userEmail", "referrerId", "userTopics");
+
+    private SessionCodec() {
+    }
+
+    public static byte[] encode(SessionRecord record) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeLong(record.getId());
+            writeVarLong(out, record.getCreatedMillis() / 1000);
+            writeVarLong(out, record.getLastAccessMillis() / 1000);
+            writeVarLong(out, record.getAttributes().size());
+            for (Map.Entry<String, Object> attribute : record.getAttributes().entrySet()) {
+                int known = KNOWN_NAMES.indexOf(attribute.getKey());
+                if (known >= 0) {
+                    out.writeByte(known);
+                } else {
+                    out.writeByte(LITERAL_NAME);
+                    writeString(out, attribute.getKey());
+                }
+                Object value = attribute.getValue();
+                if (value instanceof String) {
+                    out.writeByte(TYPE_STRING);
+                    writeString(out, (String) value);
+                } else if (value instanceof String[]) {
+                    String[] values = (String[]) value;
+                    out.writeByte(TYPE_STRING_ARRAY);
+                    writeVarLong(out, values.length);
+                    for (String element : values) {
+                        writeString(out, element);
+                    }
+                } else {
+                    throw new IllegalArgumentException("Unsupported session attribute type for "
+                        + attribute.getKey() + ": " + (value == null ? "null" : value.getClass().getName()));
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // in-memory stream
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decode bytes written by {@link #encode}; throws IllegalArgumentException on anything else
+     */
+    public static SessionRecord decode(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            if (in.readUnsignedByte() != VERSION) {
+                throw new IllegalArgumentException("Unknown session encoding version");
+            }
+            long id = in.readLong();
+            long created = readVarLong(in) * 1000;
+            long lastAccess = readVarLong(in) * 1000;
+            int count = readLength(in);
+            Map<String, Object> attributes = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                int nameCode = in.readUnsignedByte();
+                String name;
+                if (nameCode == LITERAL_NAME) {
+                    name = readString(in);
+                } else if (nameCode < KNOWN_NAMES.size()) {
+                    name = KNOWN_NAMES.get(nameCode);
+                } else {
+                    throw new IllegalArgumentException("Unknown session attribute code " + nameCode);
+                }
+                int type = in.readUnsignedByte();
+                switch (type) {
+                    case TYPE_STRING:
+                        attributes.put(name, readString(in));
+                        break;
+                    case TYPE_STRING_ARRAY:
+                        String[] values = new String[readLength(in)];
+                        for (int j = 0; j < values.length; j++) {
+                            values[j] = readString(in);
+                        }
+                        attributes.put(name, values);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown session attribute type " + type);
+                }
+            }
+            return new SessionRecord(id, created, lastAccess, attributes);
+        } catch (EOFException e) {
+            throw new IllegalArgumentException("Truncated session data", e);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unreadable session data", e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] utf8 = new byte[readLength(in)];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    // Lengths are bounded so a forged or corrupt record cannot ask for a huge allocation
+    private static int readLength(DataInputStream in) throws IOException {
+        long length = readVarLong(in);
+        if (length > 4096) {
+            throw new IllegalArgumentException("Session field too long");
+        }
+        return (int) length;
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+}
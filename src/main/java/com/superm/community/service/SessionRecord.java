@@ -0,0 +1,43 @@
+package com.superm.community.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * State of one user session as kept by a {@link SessionStore}.
+ * Attribute values are Strings or String arrays, which is all the controllers store.
+ */
+public final class SessionRecord {
+
+    private final long id;
+    private final long createdMillis;
+    private long lastAccessMillis;
+    private final Map<String, Object> attributes;
+
+    public SessionRecord(long id, long createdMillis, long lastAccessMillis, Map<String, Object> attributes) {
+        this.id = id;
+        this.createdMillis = createdMillis;
+        this.lastAccessMillis = lastAccessMillis;
+        this.attributes = new LinkedHashMap<>(attributes);
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public long getCreatedMillis() {
+        return createdMillis;
+    }
+
+    public long getLastAccessMillis() {
+        return lastAccessMillis;
+    }
+
+    public void setLastAccessMillis(long lastAccessMillis) {
+        this.lastAccessMillis = lastAccessMillis;
+    }
+
+    public Map<String, Object> getAttributes() {
+        return attributes;
+    }
+}
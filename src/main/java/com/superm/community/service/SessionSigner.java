@@ -0,0 +1,152 @@
+package com.superm.community.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * HMAC-SHA256 signing of session tokens: "base64url(payload).base64url(mac)", and AES-GCM
+ * sealing for tokens whose payload must not be readable: "base64url(iv + ciphertext + tag)".
+ * The AES key is derived from the signing secret, so both need only app.session.secret.
+ * Every node that should accept a session needs the same app.session.secret. Without one,
+ * a key is generated once and kept in app.session.key-file, which is enough for a single node.
+ */
+@Service
+public class SessionSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MAC_BYTES = 16; // truncated tag, plenty for a session cookie
+    private static final String CIPHER = "AES/GCM/NoPadding";
+    private static final int IV_BYTES = 12;
+    private static final int GCM_TAG_BITS = 128;
+
+    @Value("${app.session.secret:}")
+    private String configuredSecret;
+
+    @Value("${app.session.key-file:data/session.key}")
+    private String keyFile;
+
+    private final SecureRandom random = new SecureRandom();
+    private SecretKeySpec key;
+    private SecretKeySpec encryptionKey;
+
+    @PostConstruct
+    void init() throws IOException {
+        byte[] secret;
+        if (configuredSecret != null && !configuredSecret.isBlank()) {
+            secret = configuredSecret.getBytes(StandardCharsets.UTF_8);
+        } else {
+            secret = loadOrCreateKey(Paths.get(keyFile));
+        }
+        key = new SecretKeySpec(secret, ALGORITHM);
+        // A separate key for encryption, so the MAC key is never reused as a cipher key
+        encryptionKey = new SecretKeySpec(mac("session-encryption".getBytes(StandardCharsets.UTF_8), 32), "AES");
+    }
+
+    public String sign(byte[] payload) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(payload) + "." + encoder.encodeToString(mac(payload));
+    }
+
+    /**
+     * Payload of a token signed with our key, or null if malformed or tampered with
+     */
+    public byte[] verify(String token) {
+        if (token == null) {
+            return null;
+        }
+        int dot = token.indexOf('.');
+        if (dot < 0) {
+            return null;
+        }
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            byte[] payload = decoder.decode(token.substring(0, dot));
+            byte[] tag = decoder.decode(token.substring(dot + 1));
+            return MessageDigest.isEqual(tag, mac(payload)) ? payload : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Encrypt and authenticate the payload; the token reveals nothing but its length
+     */
+    public String seal(byte[] payload) {
+        byte[] iv = new byte[IV_BYTES];
+        random.nextBytes(iv);
+        try {
+            Cipher cipher = Cipher.getInstance(CIPHER);
+            cipher.init(Cipher.ENCRYPT_MODE, encryptionKey, new GCMParameterSpec(GCM_TAG_BITS, iv));
+            byte[] sealed = Arrays.copyOf(iv, IV_BYTES + cipher.getOutputSize(payload.length));
+            cipher.doFinal(payload, 0, payload.length, sealed, IV_BYTES);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(sealed);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e); // AES-GCM is always available
+        }
+    }
+
+    /**
+     * Payload of a token sealed with our key, or null if malformed or tampered with
+     */
+    public byte[] open(String token) {
+        if (token == null) {
+            return null;
+        }
+        try {
+            byte[] sealed = Base64.getUrlDecoder().decode(token);
+            if (sealed.length < IV_BYTES + GCM_TAG_BITS / 8) {
+                return null;
+            }
+            Cipher cipher = Cipher.getInstance(CIPHER);
+            cipher.init(Cipher.DECRYPT_MODE, encryptionKey, new GCMParameterSpec(GCM_TAG_BITS, sealed, 0, IV_BYTES));
+            return cipher.doFinal(sealed, IV_BYTES, sealed.length - IV_BYTES);
+        } catch (IllegalArgumentException | GeneralSecurityException e) {
+            return null;
+        }
+    }
+
+    private byte[] mac(byte[] payload) {
+        return mac(payload, MAC_BYTES);
+    }
+
+    private byte[] mac(byte[] payload, int length) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return Arrays.copyOf(mac.doFinal(payload), length);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e); // HmacSHA256 is always available
+        }
+    }
+
+    private static byte[] loadOrCreateKey(Path path) throws IOException {
+        if (Files.exists(path)) {
+            return Base64.getDecoder().decode(Files.readString(path).trim());
+        }
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Files.writeString(path, Base64.getEncoder().encodeToString(secret));
+        System.err.println("No app.session.secret configured; generated " + path
+            + ". Set the same secret on every node to share sessions between them.");
+        return secret;
+    }
+}
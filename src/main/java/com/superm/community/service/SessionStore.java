@@ -0,0 +1,24 @@
+package com.superm.community.service;
+
+/**
+ * Where user sessions live between requests, selected with app.session.store:
+ * "token" keeps the whole session in a signed cookie, "file" keeps it on local disk behind a
+ * signed id, and "servlet" registers no store so the container's in-memory HttpSession is used.
+ * The session cookie carries whatever token {@link #save} returns.
+ */
+public interface SessionStore {
+
+    /**
+     * Session for a token from the client, or null when unknown, forged or idle too long
+     */
+    SessionRecord load(String token);
+
+    /**
+     * Persist the session and return the token the client should send from now on
+     */
+    String save(SessionRecord record);
+
+    void delete(String token);
+
+    long getIdleTimeoutMillis();
+}
@@ -0,0 +1,59 @@
+package com.superm.community.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Stateless sessions: the encoded session is the token, sealed with AES-GCM so clients can
+ * neither read nor alter it.
+ * Nothing is kept server-side, so any node with the shared secret serves any request and
+ * restarts lose nothing. Idle sessions expire through the last-access time inside the token;
+ * logging out clears the cookie, but a copied token stays valid until it idles out.
+ */
+@Service
+@ConditionalOnProperty(name = "app.session.store", havingValue = "token", matchIfMissing = true)
+public class SignedTokenSessionStore implements SessionStore {
+
+    private final SessionSigner signer;
+    private final long idleTimeoutMillis;
+
+    public SignedTokenSessionStore(SessionSigner signer,
+                                   @Value("${app.session.idle-timeout-ms:1800000}") long idleTimeoutMillis) {
+        this.signer = signer;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    @Override
+    public SessionRecord load(String token) {
+        byte[] payload = signer.open(token);
+        if (payload == null) {
+            return null; // tampered with, or a signed-only token from before sealing
+        }
+        SessionRecord record;
+        try {
+            record = SessionCodec.decode(payload);
+        } catch (IllegalArgumentException e) {
+            return null; // signed by us but in an older encoding
+        }
+        if (System.currentTimeMillis() - record.getLastAccessMillis() > idleTimeoutMillis) {
+            return null;
+        }
+        return record;
+    }
+
+    @Override
+    public String save(SessionRecord record) {
+        return signer.seal(SessionCodec.encode(record));
+    }
+
+    @Override
+    public void delete(String token) {
+        // Nothing stored; the filter clears the cookie
+    }
+
+    @Override
+    public long getIdleTimeoutMillis() {
+        return idleTimeoutMillis;
+    }
+}
@@ -1,32 +1,58 @@
 package com.superm.community.service;
 
+import com.superm.community.model.Article;
+import com.superm.community.model.ArticleSearchResult;
 import com.superm.community.model.Community;
+import com.superm.community.model.GeneratedContent;
+import com.superm.community.model.GeneratedContentSummary;
+import com.superm.community.model.LeaderStats;
 import com.superm.community.model.Post;
 import com.superm.community.model.User;
+import com.superm.community.model.UserEvent;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Iterator;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 @Service("staticDataService")
 public class StaticDataService {
+	private static final int REWARD_LOG_SIZE = 100;
+
+	// Copy-on-write so each mutation, bulk ones included, is one atomic swap readers never see half-done
 	private final List<User> users;
 	private final List<Community> communities;
 	private final List<Post> posts;
+	private final Map<String, Post> postsById = new java.util.concurrent.ConcurrentHashMap<>();
+	private final Map<String, Long> userTopicMasks = new java.util.concurrent.ConcurrentHashMap<>();
+	// Versions of rendered content: the community list, and each community's page (details, posts, articles)
+	private final VersionCounter catalogVersion = new VersionCounter();
+	private final Map<String, VersionCounter> communityVersions = new java.util.concurrent.ConcurrentHashMap<>();
+	// Sample analytics, social platforms and content templates are fixed for the life of the process
+	private final VersionCounter referenceDataVersion = new VersionCounter();
+	private final VersionCounter generatedContentVersion = new VersionCounter();
 	private final List<String> rewardLog;
-	private final List<java.util.Map<String, Object>> recentGeneratedContent;
-	private final java.util.Map<String, java.util.Map<String, Object>> generatedContentById;
+	private final Map<String, Integer> postCountsByCommunity = new java.util.concurrent.ConcurrentHashMap<>();
+	private final Map<String, LeaderStats> leaderStats = new java.util.concurrent.ConcurrentHashMap<>(); // by leader name
+	private final List<GeneratedContentSummary> recentGeneratedContent;
+	private final java.util.Map<String, GeneratedContent> generatedContentById;
+	private final MetricsRegistry.Timer filterUsersTimer;
+	private final MetricsRegistry.Timer searchArticlesTimer;
 
-	public StaticDataService() {
+	public StaticDataService(MetricsRegistry metrics) {
+		this.filterUsersTimer = metrics.timer("StaticDataService.filterUsers");
+		this.searchArticlesTimer = metrics.timer("StaticDataService.searchArticles");
 		Random random = new Random(42); // Fixed seed for consistent results
-		this.users = new ArrayList<>(Arrays.asList(
+		this.users = new CopyOnWriteArrayList<>(Arrays.asList(
 			new User("superOliverAdmin01", "oliver@superm.com", "Oliver", "Oliver Admin", true, "Active", LocalDate.of(2024, 1, 1)),
 			new User(generateUserId(random), "parent1@example.com", "Avery Kim", "Avery Kim", false, "Active", generateRandomJoinDate(random)),
 			new User(generateUserId(random), "leader1@example.com", "Jordan Lee", "Jordan Lee", true, "Active", generateRandomJoinDate(random)),
@@ -42,7 +68,7 @@ public class StaticDataService {
 			new User(generateUserId(random), "leader10@example.com", "Drew Nakamura", "Drew Nakamura", true, "Active", generateRandomJoinDate(random)),
 			new User(generateUserId(random), "leader11@example.com", "Jordan Scott", "Jordan Scott", true, "Active", generateRandomJoinDate(random))));
 
-		this.communities = new ArrayList<>(Arrays.asList(
+		this.communities = new CopyOnWriteArrayList<>(Arrays.asList(
 			new Community("c1", "Pregnancy Nutrition", "Tips and support for healthy pregnancy nutrition.", "Jordan Lee", 128, LocalDate.now().minusDays(42)),
 			new Community("c2", "ADHD Toddlers", "Strategies, stories, and support for caregivers of ADHD toddlers.", "Avery Kim", 256, LocalDate.now().minusDays(10)),
 			new Community("c3", "Sleep Training 0-6m", "Gentle sleep training practices for newborns.", "Jordan Lee", 312, LocalDate.now().minusDays(5)),
@@ -51,11 +77,23 @@ public class StaticDataService {
 			new Community("c6", "Parent Fitness", "Quick routines and tips to stay active.", "Sam Patel", 98, LocalDate.now().minusDays(8))
 		));
 
+		for (Community community : communities) {
+			PostFeatureExtractor.indexTopics(community);
+		}
+
 		List<Post> seed = new ArrayList<>();
 		seed.add(new Post("p1", "c1", "Jordan Lee", "What are your go-to iron-rich snacks?", null, LocalDateTime.now().minusHours(12), 24, 5));
 		seed.add(new Post("p2", "c2", "Avery Kim", "Sharing a routine that helped our evenings.", null, LocalDateTime.now().minusHours(6), 42, 12));
 		seed.add(new Post("p3", "c3", "Sam Patel", "Nights are hard—what worked for you?", null, LocalDateTime.now().minusHours(2), 13, 7));
-		this.posts = new ArrayList<>(seed);
+		this.posts = new CopyOnWriteArrayList<>(seed);
+		for (Post post : posts) {
+			PostFeatureExtractor.index(post, findCommunityById(post.getCommunityId()));
+			postsById.put(post.getId(), post);
+			postCountsByCommunity.merge(post.getCommunityId(), 1, Integer::sum);
+		}
+		for (Community community : communities) {
+			refreshLeaderStats(community.getLeaderName());
+		}
 
 		this.rewardLog = new ArrayList<>();
 		this.recentGeneratedContent = new ArrayList<>();
@@ -76,6 +114,33 @@ public class StaticDataService {
 	public Community findCommunityById(String id) {
 		return communities.stream().filter(c -> c.getId().equals(id)).findFirst().orElse(null);
 	}
+
+	public Post findPostById(String id) {
+		return id == null ? null : postsById.get(id);
+	}
+
+	public VersionCounter getCatalogVersion() {
+		return catalogVersion;
+	}
+
+	public VersionCounter getCommunityVersion(String communityId) {
+		return communityVersions.computeIfAbsent(communityId, id -> new VersionCounter());
+	}
+
+	public VersionCounter getReferenceDataVersion() {
+		return referenceDataVersion;
+	}
+
+	public VersionCounter getGeneratedContentVersion() {
+		return generatedContentVersion;
+	}
+
+	/**
+	 * Called after a post's content or counts change so cached community pages revalidate
+	 */
+	public void markPostChanged(Post post) {
+		getCommunityVersion(post.getCommunityId()).bump();
+	}
 	
 	// Login authentication
 	public User authenticateUser(String username, String password) {
@@ -114,31 +179,32 @@ public class StaticDataService {
 		users.add(newUser);
 		
 		// Store user topics for recommendations (in a real app, this would be in a database)
-		// For now, we'll just use the session to store topics
+		userTopicMasks.put(userId, TopicVocabulary.maskOf(topics));
 		
 		return newUser;
 	}
 	
+	/**
+	 * Signup topics of the user as a bitmask, 0 if none are known
+	 */
+	public long getUserTopicMask(String userId) {
+		return userId == null ? 0L : userTopicMasks.getOrDefault(userId, 0L);
+	}
+
 	public List<Community> getRecommendedCommunities(String[] userTopics) {
-		if (userTopics == null || userTopics.length == 0) {
+		return getRecommendedCommunities(TopicVocabulary.maskOf(userTopics));
+	}
+
+	public List<Community> getRecommendedCommunities(long userTopicMask) {
+		if (userTopicMask == 0L) {
 			return getAllCommunities();
 		}
 		
-		// Match communities based on topics
+		// Match communities on any shared topic bit
 		List<Community> recommended = new ArrayList<>();
-		
 		for (Community community : communities) {
-			String communityName = community.getName().toLowerCase();
-			String communityDesc = community.getDescription().toLowerCase();
-			
-			for (String topic : userTopics) {
-				String topicLower = topic.toLowerCase();
-				
-				// Check if topic matches community name or description
-				if (communityName.contains(topicLower) || communityDesc.contains(topicLower)) {
-					recommended.add(community);
-					break; // Don't add same community multiple times
-				}
+			if ((community.getTopicMask() & userTopicMask) != 0) {
+				recommended.add(community);
 			}
 		}
 		
@@ -155,13 +221,18 @@ public class StaticDataService {
 	}
 
 	public List<User> filterUsers(String query, String status) {
-		return users.stream().filter(u -> {
-			boolean matchesQuery = (query == null || query.isBlank()) ||
-				u.getEmail().toLowerCase().contains(query.toLowerCase()) ||
-				u.getName().toLowerCase().contains(query.toLowerCase());
-			boolean matchesStatus = (status == null || status.isBlank()) || u.getStatus().equalsIgnoreCase(status);
-			return matchesQuery && matchesStatus;
-		}).collect(Collectors.toList());
+		long start = System.nanoTime();
+		try {
+			return users.stream().filter(u -> {
+				boolean matchesQuery = (query == null || query.isBlank()) ||
+					u.getEmail().toLowerCase().contains(query.toLowerCase()) ||
+					u.getName().toLowerCase().contains(query.toLowerCase());
+				boolean matchesStatus = (status == null || status.isBlank()) || u.getStatus().equalsIgnoreCase(status);
+				return matchesQuery && matchesStatus;
+			}).collect(Collectors.toList());
+		} finally {
+			filterUsersTimer.recordSince(start);
+		}
 	}
 
 	private String generateUserId(Random random) {
@@ -183,41 +254,92 @@ public class StaticDataService {
 	}
 
 	public boolean suspendUser(String userId) {
-		for (int i = 0; i < users.size(); i++) {
-			User u = users.get(i);
-			if (u.getId().equals(userId)) {
-				users.set(i, new User(u.getId(), u.getEmail(), u.getName(), u.getFullName(), u.isLeader(), "Suspended", u.getJoinDate()));
-				return true;
-			}
-		}
-		return false;
+		return setUserStatus(List.of(userId), "Suspended") > 0;
 	}
 
 	public boolean activateUser(String userId) {
-		for (int i = 0; i < users.size(); i++) {
-			User u = users.get(i);
-			if (u.getId().equals(userId)) {
-				users.set(i, new User(u.getId(), u.getEmail(), u.getName(), u.getFullName(), u.isLeader(), "Active", u.getJoinDate()));
-				return true;
+		return setUserStatus(List.of(userId), "Active") > 0;
+	}
+
+	/**
+	 * Sets the status of every listed user in a single pass and list swap; returns how many matched
+	 */
+	public int setUserStatus(Collection<String> userIds, String status) {
+		Set<String> ids = new HashSet<>(userIds);
+		int[] matched = {0};
+		// replaceAll on the copy-on-write list runs under its lock and publishes one new array
+		users.replaceAll(u -> {
+			if (!ids.contains(u.getId())) {
+				return u;
 			}
-		}
-		return false;
+			matched[0]++;
+			return new User(u.getId(), u.getEmail(), u.getName(), u.getFullName(), u.isLeader(), status, u.getJoinDate());
+		});
+		return matched[0];
 	}
 
 	public boolean archiveCommunity(String communityId) {
-		Iterator<Community> it = communities.iterator();
-		while (it.hasNext()) {
-			Community c = it.next();
-			if (c.getId().equals(communityId)) {
-				it.remove();
-				return true;
-			}
+		return archiveCommunities(List.of(communityId)) > 0;
+	}
+
+	/**
+	 * Archives the listed communities in one list swap, then updates the leader aggregates
+	 * and bumps the catalog version once; returns how many were archived
+	 */
+	public synchronized int archiveCommunities(Collection<String> communityIds) {
+		Set<String> ids = new HashSet<>(communityIds);
+		List<Community> archived = communities.stream().filter(c -> ids.contains(c.getId())).collect(Collectors.toList());
+		if (archived.isEmpty()) {
+			return 0;
 		}
-		return false;
+		communities.removeIf(c -> ids.contains(c.getId()));
+
+		Set<String> leaders = new HashSet<>();
+		for (Community c : archived) {
+			postCountsByCommunity.remove(c.getId());
+			getCommunityVersion(c.getId()).bump();
+			leaders.add(c.getLeaderName());
+		}
+		leaders.forEach(this::refreshLeaderStats);
+		catalogVersion.bump();
+		return archived.size();
 	}
 
 	public boolean deleteContent(String postId) {
-		return posts.removeIf(p -> p.getId().equals(postId));
+		return deleteContents(List.of(postId)) > 0;
+	}
+
+	/**
+	 * Deletes the listed posts in one list swap, then updates the post index, per-community
+	 * counts and leader aggregates, bumping each affected community's version once;
+	 * returns how many were deleted
+	 */
+	public synchronized int deleteContents(Collection<String> postIds) {
+		Set<String> ids = new HashSet<>(postIds);
+		if (!posts.removeIf(p -> ids.contains(p.getId()))) {
+			return 0;
+		}
+
+		int deleted = 0;
+		Set<String> touchedCommunities = new HashSet<>();
+		for (String id : ids) {
+			Post removed = postsById.remove(id);
+			if (removed != null) {
+				deleted++;
+				postCountsByCommunity.merge(removed.getCommunityId(), -1, Integer::sum);
+				touchedCommunities.add(removed.getCommunityId());
+			}
+		}
+		Set<String> leaders = new HashSet<>();
+		for (String communityId : touchedCommunities) {
+			getCommunityVersion(communityId).bump();
+			Community community = findCommunityById(communityId);
+			if (community != null) {
+				leaders.add(community.getLeaderName());
+			}
+		}
+		leaders.forEach(this::refreshLeaderStats);
+		return deleted;
 	}
 
 	public boolean warnUser(String userId) {
@@ -225,11 +347,42 @@ public class StaticDataService {
 		return users.stream().anyMatch(u -> u.getId().equals(userId));
 	}
 
-	public List<String> processPayouts(int dollarsPerNewMember, int tokensPer100Engagements) {
+	public synchronized List<String> processPayouts(int dollarsPerNewMember, int tokensPer100Engagements) {
 		rewardLog.add("Processed payouts: $" + dollarsPerNewMember + ", " + tokensPer100Engagements + " tokens/100 engagements");
+		// Only the recent entries are shown; the payout ledger is the durable record
+		if (rewardLog.size() > REWARD_LOG_SIZE) {
+			rewardLog.subList(0, rewardLog.size() - REWARD_LOG_SIZE).clear();
+		}
 		return new ArrayList<>(rewardLog);
 	}
 
+	/**
+	 * Communities and post count of a leader, empty if they lead none
+	 */
+	public LeaderStats getLeaderStats(String leaderName) {
+		LeaderStats stats = leaderStats.get(leaderName);
+		return stats != null ? stats : new LeaderStats(leaderName, List.of(), "", 0);
+	}
+
+	// Rebuilds one leader's aggregate from their (few) communities after a change
+	private synchronized void refreshLeaderStats(String leaderName) {
+		List<String> ids = new ArrayList<>();
+		StringBuilder names = new StringBuilder();
+		int postCount = 0;
+		for (Community community : communities) {
+			if (community.getLeaderName().equals(leaderName)) {
+				ids.add(community.getId());
+				names.append(names.length() == 0 ? "" : ", ").append(community.getName());
+				postCount += postCountsByCommunity.getOrDefault(community.getId(), 0);
+			}
+		}
+		if (ids.isEmpty()) {
+			leaderStats.remove(leaderName);
+		} else {
+			leaderStats.put(leaderName, new LeaderStats(leaderName, ids, names.toString(), postCount));
+		}
+	}
+
 	public String getKomTagForUser(String userId) {
 		User user = users.stream().filter(u -> u.getId().equals(userId)).findFirst().orElse(null);
 		if (user == null) return "Unknown";
@@ -315,8 +468,8 @@ public class StaticDataService {
 		return titles;
 	}
 
-	public java.util.List<java.util.Map<String, Object>> getArticlesByCommunity(String communityId) {
-		java.util.List<java.util.Map<String, Object>> articles = new java.util.ArrayList<>();
+	public java.util.List<Article> getArticlesByCommunity(String communityId) {
+		java.util.List<Article> articles = new java.util.ArrayList<>();
 		
 		switch (communityId) {
 			case "c1": // Pregnancy Nutrition
@@ -368,16 +521,8 @@ public class StaticDataService {
 		return articles;
 	}
 	
-	private java.util.Map<String, Object> createArticle(String title, String author, String excerpt, String publishedDate, int views, int likes, int comments) {
-		java.util.Map<String, Object> article = new java.util.HashMap<>();
-		article.put("title", title);
-		article.put("author", author);
-		article.put("excerpt", excerpt);
-		article.put("publishedDate", publishedDate);
-		article.put("views", views);
-		article.put("likes", likes);
-		article.put("comments", comments);
-		return article;
+	private Article createArticle(String title, String author, String excerpt, String publishedDate, int views, int likes, int comments) {
+		return new Article(title, author, excerpt, publishedDate, views, likes, comments);
 	}
 	
 	// Analytics Data Methods
@@ -409,8 +554,8 @@ public class StaticDataService {
 		return overview;
 	}
 	
-	public java.util.List<java.util.Map<String, Object>> getUserEvents() {
-		java.util.List<java.util.Map<String, Object>> events = new java.util.ArrayList<>();
+	public java.util.List<UserEvent> getUserEvents() {
+		java.util.List<UserEvent> events = new java.util.ArrayList<>();
 		
 		// Sample user events with Singapore locations - using user IDs for privacy
 		events.add(createEvent("User Signup", "New Account Created", "u1", "Marina Bay Community", "2024-01-15 14:30:25", "Mobile"));
@@ -487,15 +632,8 @@ public class StaticDataService {
 		return pages;
 	}
 	
-	private java.util.Map<String, Object> createEvent(String eventType, String target, String user, String location, String timestamp, String device) {
-		java.util.Map<String, Object> event = new java.util.HashMap<>();
-		event.put("eventType", eventType);
-		event.put("target", target);
-		event.put("user", user);
-		event.put("location", location);
-		event.put("timestamp", timestamp);
-		event.put("device", device);
-		return event;
+	private UserEvent createEvent(String eventType, String target, String user, String location, String timestamp, String device) {
+		return new UserEvent(eventType, target, user, location, timestamp, device);
 	}
 	
 	private java.util.Map<String, Object> createPageData(String pageName, String url, int views, double avgTime) {
@@ -619,46 +757,34 @@ public class StaticDataService {
 	}
 	
 	// Content Generation and Social Media Methods
-	public java.util.Map<String, Object> generateContent(String contentType, String topic, String communityId, String aiTool) {
-		java.util.Map<String, Object> content = new java.util.HashMap<>();
-		content.put("id", "content_" + System.currentTimeMillis());
-		content.put("type", contentType);
-		content.put("topic", topic);
-		content.put("communityId", communityId);
-		content.put("aiTool", aiTool);
-		content.put("generatedAt", java.time.LocalDateTime.now().toString());
-		content.put("status", "Generated");
+	public GeneratedContent generateContent(String contentType, String topic, String communityId, String aiTool) {
+		GeneratedContent content = new GeneratedContent("content_" + System.currentTimeMillis(), contentType, topic,
+			communityId, aiTool, java.time.LocalDateTime.now().toString());
 		
 		// Simulate AI-generated content based on type and tool
 		switch (contentType.toLowerCase()) {
 			case "article":
-				content.put("title", generateArticleTitle(topic, aiTool));
-				content.put("content", generateArticleContent(topic, aiTool));
-				content.put("wordCount", getWordCountForTool(aiTool));
-				content.put("readingTime", getReadingTimeForTool(aiTool));
+				content.setArticle(generateArticleTitle(topic, aiTool), generateArticleContent(topic, aiTool),
+					getWordCountForTool(aiTool), getReadingTimeForTool(aiTool));
 				break;
 			case "video":
-				content.put("title", generateVideoTitle(topic, aiTool));
-				content.put("script", generateVideoScript(topic, aiTool));
-				content.put("duration", getDurationForTool(aiTool));
-				content.put("hashtags", generateHashtags(topic));
+				content.setVideo(generateVideoTitle(topic, aiTool), generateVideoScript(topic, aiTool),
+					getDurationForTool(aiTool), generateHashtags(topic));
 				break;
 			case "photo":
-				content.put("title", generatePhotoTitle(topic, aiTool));
-				content.put("caption", generatePhotoCaption(topic, aiTool));
-				content.put("hashtags", generateHashtags(topic));
-				content.put("altText", generateAltText(topic));
+				content.setPhoto(generatePhotoTitle(topic, aiTool), generatePhotoCaption(topic, aiTool),
+					generateHashtags(topic), generateAltText(topic));
 				break;
 		}
 		
 		// Persist full content by ID for later viewing
-		generatedContentById.put(content.get("id").toString(), content);
+		generatedContentById.put(content.getId(), content);
 
 		// Add to recent generated content list
-		java.util.Map<String, Object> recentItem = createContentData(
-			content.get("id").toString(),
+		GeneratedContentSummary recentItem = createContentData(
+			content.getId(),
 			contentType,
-			content.get("title").toString(),
+			content.getTitle(),
 			getCommunityNameById(communityId),
 			"Generated",
 			"Just now"
@@ -669,11 +795,12 @@ public class StaticDataService {
 		if (recentGeneratedContent.size() > 10) {
 			recentGeneratedContent.remove(recentGeneratedContent.size() - 1);
 		}
+		generatedContentVersion.bump();
 		
 		return content;
 	}
 
-	public java.util.Map<String, Object> getGeneratedContentById(String contentId) {
+	public GeneratedContent getGeneratedContentById(String contentId) {
 		return generatedContentById.get(contentId);
 	}
 	
@@ -699,7 +826,7 @@ public class StaticDataService {
 		return templates;
 	}
 	
-	public java.util.List<java.util.Map<String, Object>> getRecentGeneratedContent() {
+	public java.util.List<GeneratedContentSummary> getRecentGeneratedContent() {
 		// Always return the actual recent content list
 		return new java.util.ArrayList<>(recentGeneratedContent);
 	}
@@ -982,38 +1109,35 @@ public class StaticDataService {
 		return template;
 	}
 	
-	private java.util.Map<String, Object> createContentData(String id, String type, String title, String community, String status, String timeAgo) {
-		java.util.Map<String, Object> content = new java.util.HashMap<>();
-		content.put("id", id);
-		content.put("type", type);
-		content.put("title", title);
-		content.put("community", community);
-		content.put("status", status);
-		content.put("timeAgo", timeAgo);
-		return content;
+	private GeneratedContentSummary createContentData(String id, String type, String title, String community, String status, String timeAgo) {
+		return new GeneratedContentSummary(id, type, title, community, status, timeAgo);
 	}
 	
 	// Search functionality
-	public List<java.util.Map<String, Object>> searchArticles(String query) {
+	public List<ArticleSearchResult> searchArticles(String query) {
+		long start = System.nanoTime();
+		try {
+			return findArticles(query);
+		} finally {
+			searchArticlesTimer.recordSince(start);
+		}
+	}
+
+	private List<ArticleSearchResult> findArticles(String query) {
 		String lowercaseQuery = query.toLowerCase();
-		List<java.util.Map<String, Object>> results = new ArrayList<>();
+		List<ArticleSearchResult> results = new ArrayList<>();
 		
 		// Search through all communities and their articles
 		for (Community community : communities) {
-			List<java.util.Map<String, Object>> articles = getArticlesByCommunity(community.getId());
-			for (java.util.Map<String, Object> article : articles) {
-				String title = article.get("title").toString().toLowerCase();
-				String excerpt = article.get("excerpt").toString().toLowerCase();
-				String author = article.get("author").toString().toLowerCase();
+			List<Article> articles = getArticlesByCommunity(community.getId());
+			for (Article article : articles) {
+				String title = article.getTitle().toLowerCase();
+				String excerpt = article.getExcerpt().toLowerCase();
+				String author = article.getAuthor().toLowerCase();
 				
 				// Check if query matches title, excerpt, or author
 				if (title.contains(lowercaseQuery) || excerpt.contains(lowercaseQuery) || author.contains(lowercaseQuery)) {
-					// Add community information to the article
-					java.util.Map<String, Object> searchResult = new java.util.HashMap<>(article);
-					searchResult.put("communityName", community.getName());
-					searchResult.put("communityId", community.getId());
-					searchResult.put("communityDescription", community.getDescription());
-					results.add(searchResult);
+					results.add(new ArticleSearchResult(article, community));
 				}
 			}
 		}
@@ -1021,10 +1145,10 @@ public class StaticDataService {
 		// Sort by relevance (title matches first, then excerpt, then author)
 		results.sort((a, b) -> {
 			String queryLower = lowercaseQuery;
-			String titleA = a.get("title").toString().toLowerCase();
-			String titleB = b.get("title").toString().toLowerCase();
-			String excerptA = a.get("excerpt").toString().toLowerCase();
-			String excerptB = b.get("excerpt").toString().toLowerCase();
+			String titleA = a.getArticle().getTitle().toLowerCase();
+			String titleB = b.getArticle().getTitle().toLowerCase();
+			String excerptA = a.getArticle().getExcerpt().toLowerCase();
+			String excerptB = b.getArticle().getExcerpt().toLowerCase();
 			
 			// Prioritize title matches
 			boolean titleMatchA = titleA.contains(queryLower);
@@ -1039,9 +1163,7 @@ public class StaticDataService {
 			if (!excerptMatchA && excerptMatchB) return 1;
 			
 			// Finally sort by views (descending)
-			Integer viewsA = (Integer) a.get("views");
-			Integer viewsB = (Integer) b.get("views");
-			return viewsB.compareTo(viewsA);
+			return Integer.compare(b.getArticle().getViews(), a.getArticle().getViews());
 		});
 		
 		// Limit results to top 20
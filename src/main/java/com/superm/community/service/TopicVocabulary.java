@@ -0,0 +1,78 @@
+package com.superm.community.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Fixed vocabulary of the topics users pick at signup.
+ * Each topic owns one bit so topic sets can be stored and compared as a long bitmask.
+ */
+public final class TopicVocabulary {
+
+    // Order defines the bit index - append only, never reorder
+    private static final String[] TOPICS = {
+        "Sleep Training", "Nutrition", "Special Needs", "Postpartum Health",
+        "Behavior", "Development", "Pregnancy", "ADHD",
+        "Fitness", "Mental Health", "Education", "Safety"
+    };
+
+    private static final String[] KEYWORDS = new String[TOPICS.length];
+    private static final Map<String, Integer> INDEX = new HashMap<>();
+
+    static {
+        for (int i = 0; i < TOPICS.length; i++) {
+            KEYWORDS[i] = TOPICS[i].toLowerCase(Locale.ROOT);
+            INDEX.put(KEYWORDS[i], i);
+        }
+    }
+
+    private TopicVocabulary() {
+    }
+
+    /**
+     * Bitmask of the given topic names; topics outside the vocabulary are ignored
+     */
+    public static long maskOf(String[] topics) {
+        long mask = 0L;
+        if (topics == null) {
+            return mask;
+        }
+        for (String topic : topics) {
+            if (topic == null) continue;
+            Integer index = INDEX.get(topic.toLowerCase(Locale.ROOT));
+            if (index != null) {
+                mask |= 1L << index;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Topic names for a bitmask, in vocabulary order
+     */
+    public static String[] topicsOf(long mask) {
+        List<String> topics = new ArrayList<>(Long.bitCount(mask));
+        for (int i = 0; i < TOPICS.length; i++) {
+            if ((mask & (1L << i)) != 0) {
+                topics.add(TOPICS[i]);
+            }
+        }
+        return topics.toArray(new String[0]);
+    }
+
+    /**
+     * Bitmask of the topics mentioned in an already lower-cased text
+     */
+    public static long maskOfText(String lowerCaseText) {
+        long mask = 0L;
+        for (int i = 0; i < KEYWORDS.length; i++) {
+            if (lowerCaseText.contains(KEYWORDS[i])) {
+                mask |= 1L << i;
+            }
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,50 @@
+package com.superm.community.service;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One user's resident engagement state: viewed and liked posts plus topic interest scores.
+ * Mutated only through {@link UserEngagementStore}, which logs every change it applies.
+ */
+final class UserEngagementState {
+
+    private final Set<String> viewedPosts = ConcurrentHashMap.newKeySet();
+    private final Set<String> likedPosts = ConcurrentHashMap.newKeySet();
+    private final Map<String, Integer> topicScores = new ConcurrentHashMap<>();
+    private volatile long lastAccessMillis = System.currentTimeMillis();
+    private boolean evicted; // guarded by this
+
+    Set<String> getViewedPosts() {
+        return viewedPosts;
+    }
+
+    Set<String> getLikedPosts() {
+        return likedPosts;
+    }
+
+    Map<String, Integer> getTopicScores() {
+        return topicScores;
+    }
+
+    long getLastAccessMillis() {
+        return lastAccessMillis;
+    }
+
+    void touch() {
+        lastAccessMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Whether the store has dropped this state; a mutation must then reload and retry.
+     * Callers hold the state's monitor.
+     */
+    boolean isEvicted() {
+        return evicted;
+    }
+
+    void markEvicted() {
+        evicted = true;
+    }
+}
@@ -0,0 +1,738 @@
+package com.superm.community.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded, persistent per-user engagement state.
+ * Every change is applied in memory and appended to the tail of one of a fixed number of
+ * hash-partitioned logs. Only recently active users stay resident: a background task evicts
+ * users idle for too long, and the least recently used beyond the resident cap, and merges
+ * grown tails into a base file sorted by user id with one line per fact. An evicted user is
+ * reloaded lazily on next access by reading one block of the base plus the user's tail ranges.
+ * Heap use does not grow with the number of users ever seen: the base keeps one index entry
+ * per block on disk, and only users in the bounded tail are indexed exactly.
+ */
+@Service
+public class UserEngagementStore {
+
+    private static final char VIEW = 'V';
+    private static final char LIKE = 'L';
+    private static final char TOPIC = 'T';
+    private static final int BLOCK_BYTES = 8192;
+
+    @Value("${engagement.store.dir:data/engagement}")
+    private String directory;
+
+    @Value("${engagement.store.partitions:16}")
+    private int partitionCount;
+
+    @Value("${engagement.store.max-resident-users:10000}")
+    private int maxResidentUsers;
+
+    @Value("${engagement.store.idle-evict-ms:1800000}")
+    private long idleEvictMs;
+
+    @Value("${engagement.store.maintenance-interval-ms:10000}")
+    private long maintenanceIntervalMs;
+
+    // Tails smaller than this are never worth compacting
+    @Value("${engagement.store.compact-min-bytes:65536}")
+    private long compactMinBytes;
+
+    // A tail is merged into the base at this size even if the base is larger, which bounds the tail index
+    @Value("${engagement.store.max-tail-bytes:8388608}")
+    private long maxTailBytes;
+
+    // A future stands in for a user while their records are read, so loads never run inside the map
+    private final Map<String, CompletableFuture<UserEngagementState>> residents = new ConcurrentHashMap<>();
+
+    private Partition[] partitions;
+    private ScheduledExecutorService maintenance;
+
+    @PostConstruct
+    void start() throws IOException {
+        Path root = Paths.get(directory);
+        Files.createDirectories(root);
+        partitions = new Partition[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitions[i] = new Partition(root, i);
+            partitions[i].recover();
+        }
+        maintenance = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "engagement-store");
+            thread.setDaemon(true);
+            return thread;
+        });
+        maintenance.scheduleWithFixedDelay(this::maintainQuietly, maintenanceIntervalMs, maintenanceIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        maintenance.shutdown();
+        maintenance.awaitTermination(5, TimeUnit.SECONDS);
+        for (Partition partition : partitions) {
+            partition.close();
+        }
+    }
+
+    /**
+     * The user's state, loading it from the log if it is not resident
+     */
+    UserEngagementState get(String userId) {
+        CompletableFuture<UserEngagementState> pending = residents.get(userId);
+        if (pending == null) {
+            CompletableFuture<UserEngagementState> created = new CompletableFuture<>();
+            pending = residents.putIfAbsent(userId, created);
+            if (pending == null) {
+                pending = created;
+                try {
+                    created.complete(load(userId));
+                } catch (RuntimeException e) {
+                    residents.remove(userId, created);
+                    created.completeExceptionally(e);
+                    throw e;
+                }
+            }
+        }
+        UserEngagementState state = pending.join();
+        state.touch();
+        return state;
+    }
+
+    /**
+     * Returns true if this is the user's first view of the post
+     */
+    boolean recordView(String userId, String postId) {
+        while (true) {
+            UserEngagementState state = get(userId);
+            synchronized (state) {
+                if (state.isEvicted()) {
+                    continue;
+                }
+                if (!state.getViewedPosts().add(postId)) {
+                    return false;
+                }
+                partitionOf(userId).append(userId, VIEW + "\t" + userId + "\t" + postId);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns true if this is the user's first like of the post
+     */
+    boolean recordLike(String userId, String postId) {
+        while (true) {
+            UserEngagementState state = get(userId);
+            synchronized (state) {
+                if (state.isEvicted()) {
+                    continue;
+                }
+                if (!state.getLikedPosts().add(postId)) {
+                    return false;
+                }
+                partitionOf(userId).append(userId, LIKE + "\t" + userId + "\t" + postId);
+                return true;
+            }
+        }
+    }
+
+    void recordTopicInterest(String userId, String topic, int weight) {
+        while (true) {
+            UserEngagementState state = get(userId);
+            synchronized (state) {
+                if (state.isEvicted()) {
+                    continue;
+                }
+                state.getTopicScores().merge(topic, weight, Integer::sum);
+                partitionOf(userId).append(userId, TOPIC + "\t" + userId + "\t" + topic + "\t" + weight);
+                return;
+            }
+        }
+    }
+
+    public int getResidentUserCount() {
+        return residents.size();
+    }
+
+    private UserEngagementState load(String userId) {
+        UserEngagementState state = new UserEngagementState();
+        try {
+            partitionOf(userId).replay(userId, state);
+        } catch (IOException e) {
+            System.err.println("Could not load engagement for user " + userId + ": " + e.getMessage());
+        }
+        return state;
+    }
+
+    private Partition partitionOf(String userId) {
+        return partitions[Math.floorMod(userId.hashCode(), partitionCount)];
+    }
+
+    private void maintainQuietly() {
+        try {
+            maintain();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Engagement store maintenance failed: " + e.getMessage());
+        }
+    }
+
+    private void maintain() throws IOException {
+        long idleCutoff = System.currentTimeMillis() - idleEvictMs;
+        List<Resident> loaded = new ArrayList<>();
+        for (Map.Entry<String, CompletableFuture<UserEngagementState>> entry : residents.entrySet()) {
+            UserEngagementState state = entry.getValue().getNow(null);
+            if (state == null) {
+                continue; // still loading
+            }
+            if (state.getLastAccessMillis() < idleCutoff) {
+                evict(entry.getKey(), entry.getValue(), state);
+            } else {
+                loaded.add(new Resident(entry.getKey(), entry.getValue(), state));
+            }
+        }
+
+        int excess = residents.size() - maxResidentUsers;
+        if (excess > 0) {
+            // Sorted on the access times read above; live ones can move mid-sort
+            loaded.sort((x, y) -> Long.compare(x.lastAccessMillis, y.lastAccessMillis));
+            for (int i = 0; i < excess && i < loaded.size(); i++) {
+                Resident resident = loaded.get(i);
+                evict(resident.userId, resident.pending, resident.state);
+            }
+        }
+
+        for (Partition partition : partitions) {
+            partition.flush();
+            partition.compactIfGrown();
+        }
+    }
+
+    /**
+     * Drops a resident user. Mutations append under the state's monitor, so every change made
+     * to the evicted state is in the log before a reload can start.
+     */
+    private void evict(String userId, CompletableFuture<UserEngagementState> pending, UserEngagementState state) {
+        synchronized (state) {
+            state.markEvicted();
+            residents.remove(userId, pending);
+        }
+    }
+
+    private static void apply(String[] fields, UserEngagementState state) {
+        switch (fields[0].charAt(0)) {
+            case VIEW:
+                state.getViewedPosts().add(fields[2]);
+                break;
+            case LIKE:
+                state.getLikedPosts().add(fields[2]);
+                break;
+            case TOPIC:
+                if (fields.length == 4) {
+                    try {
+                        state.getTopicScores().merge(fields[2], Integer.parseInt(fields[3]), Integer::sum);
+                    } catch (NumberFormatException e) {
+                        // Torn write at the tail of the log
+                    }
+                }
+                break;
+            default:
+                // Unknown record type; skip it
+                break;
+        }
+    }
+
+    private static final class Resident {
+        final String userId;
+        final CompletableFuture<UserEngagementState> pending;
+        final UserEngagementState state;
+        final long lastAccessMillis;
+
+        Resident(String userId, CompletableFuture<UserEngagementState> pending, UserEngagementState state) {
+            this.userId = userId;
+            this.pending = pending;
+            this.state = state;
+            this.lastAccessMillis = state.getLastAccessMillis();
+        }
+    }
+
+    /**
+     * Byte ranges of one user's records in a partition tail. Appends next to the previous
+     * range extend it, so a user appending alone is a single range.
+     */
+    private static final class Spans {
+        private long[] ranges = new long[4]; // offset, length pairs
+        private int count;
+
+        void add(long offset, int length) {
+            if (count > 0 && ranges[2 * count - 2] + ranges[2 * count - 1] == offset) {
+                ranges[2 * count - 1] += length;
+                return;
+            }
+            if (2 * count == ranges.length) {
+                ranges = Arrays.copyOf(ranges, ranges.length * 2);
+            }
+            ranges[2 * count] = offset;
+            ranges[2 * count + 1] = length;
+            count++;
+        }
+
+        long[] snapshot() {
+            return Arrays.copyOf(ranges, 2 * count);
+        }
+    }
+
+    /**
+     * Sparse index over a base file sorted by user id: the first user of every block of about
+     * BLOCK_BYTES and where that block starts. Blocks only ever start at a user boundary, so a
+     * user's records all lie in one block.
+     */
+    private static final class Base {
+        final String[] firstUsers;
+        final long[] offsets;
+        final long length;
+        final String token; // marker of the tail last merged into this base
+
+        Base(List<String> firstUsers, List<Long> offsets, long length, String token) {
+            this.firstUsers = firstUsers.toArray(new String[0]);
+            this.offsets = offsets.stream().mapToLong(Long::longValue).toArray();
+            this.length = length;
+            this.token = token;
+        }
+
+        /**
+         * The (offset, length) of the block that would hold the user's records, or null if the
+         * user sorts before the first block
+         */
+        long[] blockOf(String userId) {
+            int found = Arrays.binarySearch(firstUsers, userId);
+            int block = found >= 0 ? found : -found - 2;
+            if (block < 0) {
+                return null;
+            }
+            long end = block + 1 < offsets.length ? offsets[block + 1] : length;
+            return new long[] {offsets[block], end - offsets[block]};
+        }
+    }
+
+    /**
+     * Writes a base file one user at a time, recording a block start every BLOCK_BYTES
+     */
+    private static final class BaseWriter implements AutoCloseable {
+        private final OutputStream out;
+        private final String token;
+        private final List<String> firstUsers = new ArrayList<>();
+        private final List<Long> offsets = new ArrayList<>();
+        private long offset;
+
+        BaseWriter(Path path, String token) throws IOException {
+            this.out = new BufferedOutputStream(Files.newOutputStream(path));
+            this.token = token;
+            write(("#\t" + token + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+
+        void write(String userId, UserEngagementState state) throws IOException {
+            StringBuilder records = new StringBuilder();
+            for (String postId : state.getViewedPosts()) {
+                records.append(VIEW).append('\t').append(userId).append('\t').append(postId).append('\n');
+            }
+            for (String postId : state.getLikedPosts()) {
+                records.append(LIKE).append('\t').append(userId).append('\t').append(postId).append('\n');
+            }
+            for (Map.Entry<String, Integer> topic : state.getTopicScores().entrySet()) {
+                records.append(TOPIC).append('\t').append(userId).append('\t')
+                    .append(topic.getKey()).append('\t').append(topic.getValue()).append('\n');
+            }
+            if (records.length() == 0) {
+                return;
+            }
+            if (offsets.isEmpty() || offset - offsets.get(offsets.size() - 1) >= BLOCK_BYTES) {
+                firstUsers.add(userId);
+                offsets.add(offset);
+            }
+            write(records.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        private void write(byte[] bytes) throws IOException {
+            out.write(bytes);
+            offset += bytes.length;
+        }
+
+        Base finish() {
+            return new Base(firstUsers, offsets, offset, token);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    private interface LineHandler {
+        void line(String text, long offset, int length);
+    }
+
+    /**
+     * One sequential pass over a log, handing every complete line to the handler with its byte range
+     */
+    private static void scan(Path path, LineHandler handler) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+            ByteArrayOutputStream line = new ByteArrayOutputStream(128);
+            long offset = 0;
+            int b;
+            while ((b = in.read()) != -1) {
+                if (b != '\n') {
+                    line.write(b);
+                    continue;
+                }
+                int length = line.size() + 1;
+                handler.line(line.toString(StandardCharsets.UTF_8), offset, length);
+                offset += length;
+                line.reset();
+            }
+        }
+    }
+
+    /**
+     * Applies the user's records found in the given byte ranges of the channel
+     */
+    private static void readRanges(FileChannel channel, long[] ranges, String userId, UserEngagementState state) throws IOException {
+        for (int i = 0; i < ranges.length; i += 2) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) ranges[i + 1]);
+            long position = ranges[i];
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    break; // lost to a failed append
+                }
+                position += read;
+            }
+            String text = new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+            for (String line : text.split("\n")) {
+                String[] fields = line.split("\t");
+                if (fields.length >= 3 && fields[1].equals(userId)) {
+                    apply(fields, state);
+                }
+            }
+        }
+    }
+
+    /**
+     * One partition: a base file sorted by user id with a sparse block index, and an append-only
+     * tail with an exact per-user index. Compaction freezes the tail, then merges it into a new
+     * base one user at a time without holding the lock, so appends never wait on it and memory
+     * stays bounded by the tail size rather than the number of users. A marker line written to
+     * the frozen tail and copied into the base it produced tells recovery whether a merge finished.
+     * All access is serialized on the partition, except reading ranges back and the merge itself.
+     */
+    private final class Partition {
+        private final Path file;
+        private final Path baseFile;
+        private final Path frozenFile;
+        private Map<String, Spans> index = new HashMap<>();
+        private Map<String, Spans> frozenIndex; // tail being merged; null outside compaction
+        private String frozenToken;
+        private Base base;
+        private OutputStream out;
+        private long size;
+
+        Partition(Path root, int number) {
+            String name = String.format("part-%02d", number);
+            this.file = root.resolve(name + ".log");
+            this.baseFile = root.resolve(name + ".base");
+            this.frozenFile = root.resolve(name + ".compacting");
+        }
+
+        /**
+         * Loads the base index, finishes a merge that was interrupted, and indexes the tail
+         */
+        synchronized void recover() throws IOException {
+            if (Files.exists(baseFile)) {
+                base = loadBase();
+            }
+            if (Files.exists(frozenFile)) {
+                Map<String, Spans> pending = new HashMap<>();
+                String token = indexTail(frozenFile, pending);
+                if (token != null && base != null && token.equals(base.token)) {
+                    Files.delete(frozenFile); // merged, but not yet cleaned up
+                } else {
+                    frozenIndex = pending;
+                    frozenToken = token != null ? token : appendMarker(frozenFile);
+                    mergeFrozen();
+                }
+            }
+            if (Files.exists(file)) {
+                indexTail(file, index);
+                size = Files.size(file);
+            }
+        }
+
+        private Base loadBase() throws IOException {
+            List<String> firstUsers = new ArrayList<>();
+            List<Long> offsets = new ArrayList<>();
+            String[] token = new String[1];
+            String[] previousUser = new String[1];
+            long[] length = new long[1];
+            scan(baseFile, (text, offset, lineLength) -> {
+                String[] fields = text.split("\t");
+                length[0] = offset + lineLength;
+                if (fields.length == 2 && fields[0].equals("#")) {
+                    token[0] = fields[1];
+                } else if (fields.length >= 3 && !fields[1].equals(previousUser[0])) {
+                    previousUser[0] = fields[1];
+                    if (offsets.isEmpty() || offset - offsets.get(offsets.size() - 1) >= BLOCK_BYTES) {
+                        firstUsers.add(fields[1]);
+                        offsets.add(offset);
+                    }
+                }
+            });
+            return new Base(firstUsers, offsets, length[0], token[0]);
+        }
+
+        /**
+         * Indexes every user's records in a tail; returns the last marker token, if any
+         */
+        private String indexTail(Path path, Map<String, Spans> into) throws IOException {
+            String[] token = new String[1];
+            scan(path, (text, offset, length) -> {
+                String[] fields = text.split("\t");
+                if (fields.length >= 3) {
+                    into.computeIfAbsent(fields[1], k -> new Spans()).add(offset, length);
+                } else if (fields.length == 2 && fields[0].equals("#")) {
+                    token[0] = fields[1];
+                }
+            });
+            return token[0];
+        }
+
+        synchronized void append(String userId, String record) {
+            byte[] bytes = (record + "\n").getBytes(StandardCharsets.UTF_8);
+            try {
+                if (out == null) {
+                    openForAppend();
+                }
+                out.write(bytes);
+                index.computeIfAbsent(userId, k -> new Spans()).add(size, bytes.length);
+                size += bytes.length;
+            } catch (IOException e) {
+                // The change stays in memory; it is lost only if the user is evicted or we restart
+                System.err.println("Could not append to " + file + ": " + e.getMessage());
+                close();
+            }
+        }
+
+        private void openForAppend() throws IOException {
+            boolean needsNewline = Files.exists(file) && Files.size(file) > 0 && !endsWithNewline(file);
+            out = new BufferedOutputStream(Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+            if (needsNewline) {
+                // A failed append left a partial line; keep the next record off it
+                out.write('\n');
+            }
+            out.flush();
+            size = Files.size(file);
+        }
+
+        synchronized void flush() throws IOException {
+            if (out != null) {
+                out.flush();
+            }
+        }
+
+        synchronized void close() {
+            try {
+                if (out != null) {
+                    out.close();
+                }
+            } catch (IOException e) {
+                System.err.println("Could not close " + file + ": " + e.getMessage());
+            } finally {
+                out = null;
+            }
+        }
+
+        /**
+         * Reads back only the user's block of the base and ranges of the tails. The channels are
+         * opened under the lock, so they see the files the ranges describe even if a compaction
+         * replaces them while we read.
+         */
+        void replay(String userId, UserEngagementState state) throws IOException {
+            List<FileChannel> channels = new ArrayList<>(3);
+            List<long[]> ranges = new ArrayList<>(3);
+            try {
+                synchronized (this) {
+                    long[] block = base == null ? null : base.blockOf(userId);
+                    if (block != null) {
+                        channels.add(FileChannel.open(baseFile, StandardOpenOption.READ));
+                        ranges.add(block);
+                    }
+                    Spans frozen = frozenIndex == null ? null : frozenIndex.get(userId);
+                    if (frozen != null) {
+                        channels.add(FileChannel.open(frozenFile, StandardOpenOption.READ));
+                        ranges.add(frozen.snapshot());
+                    }
+                    Spans tail = index.get(userId);
+                    if (tail != null) {
+                        flush();
+                        channels.add(FileChannel.open(file, StandardOpenOption.READ));
+                        ranges.add(tail.snapshot());
+                    }
+                }
+                for (int i = 0; i < channels.size(); i++) {
+                    readRanges(channels.get(i), ranges.get(i), userId, state);
+                }
+            } finally {
+                for (FileChannel channel : channels) {
+                    channel.close();
+                }
+            }
+        }
+
+        /**
+         * Merge the tail into the base once it reaches the size of the base or the tail cap,
+         * or retry a merge that failed last time
+         */
+        void compactIfGrown() throws IOException {
+            synchronized (this) {
+                if (frozenIndex == null) {
+                    flush();
+                    long tailBytes = Files.exists(file) ? Files.size(file) : 0;
+                    long baseBytes = base == null ? 0 : base.length;
+                    if (tailBytes < compactMinBytes || (tailBytes < baseBytes && tailBytes < maxTailBytes)) {
+                        return;
+                    }
+                    freeze();
+                }
+            }
+            mergeFrozen();
+        }
+
+        /**
+         * Sets the current tail aside for merging; new appends start a fresh tail
+         */
+        private void freeze() throws IOException {
+            flush();
+            close();
+            String token = appendMarker(file);
+            Files.move(file, frozenFile, StandardCopyOption.ATOMIC_MOVE);
+            frozenIndex = index;
+            frozenToken = token;
+            index = new HashMap<>();
+            size = 0;
+        }
+
+        /**
+         * Streams the old base and the frozen tail, both in user order, into a new base.
+         * Only one user's records are in memory at a time.
+         */
+        private void mergeFrozen() throws IOException {
+            Base current;
+            Map<String, Spans> frozen;
+            String token;
+            synchronized (this) {
+                current = base;
+                frozen = frozenIndex;
+                token = frozenToken;
+            }
+            List<String> tailUsers = new ArrayList<>(frozen.keySet());
+            Collections.sort(tailUsers);
+
+            Path temp = baseFile.resolveSibling(baseFile.getFileName() + ".tmp");
+            Base merged;
+            try (BufferedReader baseReader = current == null ? null : Files.newBufferedReader(baseFile, StandardCharsets.UTF_8);
+                 FileChannel tail = FileChannel.open(frozenFile, StandardOpenOption.READ);
+                 BaseWriter writer = new BaseWriter(temp, token)) {
+                String[] pending = nextRecord(baseReader);
+                int next = 0;
+                while (pending != null || next < tailUsers.size()) {
+                    String tailUser = next < tailUsers.size() ? tailUsers.get(next) : null;
+                    String userId = pending == null ? tailUser
+                        : tailUser == null || pending[1].compareTo(tailUser) < 0 ? pending[1] : tailUser;
+                    UserEngagementState state = new UserEngagementState();
+                    while (pending != null && pending[1].equals(userId)) {
+                        apply(pending, state);
+                        pending = nextRecord(baseReader);
+                    }
+                    if (userId.equals(tailUser)) {
+                        readRanges(tail, frozen.get(userId).snapshot(), userId, state);
+                        next++;
+                    }
+                    writer.write(userId, state);
+                }
+                merged = writer.finish();
+            }
+
+            synchronized (this) {
+                Files.move(temp, baseFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                base = merged;
+                frozenIndex = null;
+                frozenToken = null;
+                Files.delete(frozenFile);
+            }
+        }
+    }
+
+    private static String[] nextRecord(BufferedReader reader) throws IOException {
+        if (reader == null) {
+            return null;
+        }
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String[] fields = line.split("\t");
+            if (fields.length >= 3) {
+                return fields;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Ends a log with a unique marker line and returns it
+     */
+    private static String appendMarker(Path path) throws IOException {
+        String token = UUID.randomUUID().toString();
+        boolean needsNewline = Files.exists(path) && Files.size(path) > 0 && !endsWithNewline(path);
+        try (OutputStream marker = Files.newOutputStream(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            marker.write(((needsNewline ? "\n" : "") + "#\t" + token + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        return token;
+    }
+
+    private static boolean endsWithNewline(Path path) throws IOException {
+        try (FileChannel reader = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer last = ByteBuffer.allocate(1);
+            reader.read(last, reader.size() - 1);
+            return last.get(0) == '\n';
+        }
+    }
+}
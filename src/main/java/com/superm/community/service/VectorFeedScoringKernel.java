@@ -0,0 +1,57 @@
+package com.superm.community.service;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD scoring loop on the JDK Vector API (jdk.incubator.vector).
+ * Compiled only by the Maven "vector" profile and loaded only when the JVM runs with
+ * --add-modules jdk.incubator.vector; BatchFeedScorer falls back to the scalar kernel otherwise.
+ */
+final class VectorFeedScoringKernel implements FeedScoringKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public void score(FeedColumns c, ScoringParameters p, double[] scores) {
+        int n = c.size();
+        int upper = SPECIES.loopBound(n);
+        double[] recencyHours = p.recencyHours();
+        double[] recencyScores = p.recencyScores();
+        double likeWeight = p.getLikeWeight();
+        double commentWeight = p.getCommentWeight();
+        double engagementCap = p.getEngagementCap();
+
+        int i = 0;
+        for (; i < upper; i += SPECIES.length()) {
+            DoubleVector engagement = DoubleVector.fromArray(SPECIES, c.likes, i).mul(likeWeight)
+                .add(DoubleVector.fromArray(SPECIES, c.comments, i).mul(commentWeight))
+                .div(engagementCap)
+                .min(1.0);
+
+            // Branch-free bucket lookup: walk buckets from oldest to newest, the tightest match wins
+            DoubleVector age = DoubleVector.fromArray(SPECIES, c.ageHours, i);
+            DoubleVector recency = DoubleVector.broadcast(SPECIES, p.getRecencyFloor());
+            for (int b = recencyHours.length - 1; b >= 0; b--) {
+                VectorMask<Double> younger = age.lt(recencyHours[b]);
+                recency = recency.blend(recencyScores[b], younger);
+            }
+
+            DoubleVector score = DoubleVector.fromArray(SPECIES, c.topic, i).mul(p.getTopicWeight())
+                .add(engagement.mul(p.getEngagementWeight()))
+                .add(recency.mul(p.getRecencyWeight()))
+                .add(DoubleVector.fromArray(SPECIES, c.time, i).mul(p.getTimeWeight()))
+                .add(DoubleVector.fromArray(SPECIES, c.personal, i).mul(p.getPersonalWeight()));
+            score.intoArray(scores, i);
+        }
+
+        // Remainder that doesn't fill a whole vector
+        ScalarFeedScoringKernel.scoreRange(c, p, scores, i, n);
+    }
+
+    @Override
+    public String name() {
+        return "vector-" + SPECIES.length() + "x64";
+    }
+}
@@ -0,0 +1,36 @@
+package com.superm.community.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version of a piece of rendered content, bumped by the data layer whenever it changes.
+ * Controllers turn it into a strong ETag plus Last-Modified so unchanged pages revalidate with a 304.
+ */
+public final class VersionCounter {
+
+    // Versions restart at 1 on every boot; the epoch keeps ETags from before a restart from matching
+    private static final String BOOT_EPOCH = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLong version = new AtomicLong(1);
+    private volatile long lastModifiedMillis = System.currentTimeMillis();
+
+    public void bump() {
+        lastModifiedMillis = System.currentTimeMillis();
+        version.incrementAndGet();
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public long getLastModifiedMillis() {
+        return lastModifiedMillis;
+    }
+
+    /**
+     * Quoted strong ETag, e.g. "community-c1-lq2x9k0a-7"
+     */
+    public String etag(String resource) {
+        return "\"" + resource + "-" + BOOT_EPOCH + "-" + version.get() + "\"";
+    }
+}